@@ -0,0 +1,61 @@
+package ru.yandex.practicum;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+Подсказки одного слова-попытки против всего словаря: поштучно по упакованным словам
+и пакетно через WordleClue.computeClues по столбцам букв — включённым ядром (векторным при запуске
+через WordleBenchmarks) и скалярным.
+Время — на весь словарь.
+*/
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClueBatchBenchmark {
+
+    @Param({"коран", "колок"})
+    public String guess;
+
+    private long packedGuess;
+    private long[] packedWords;
+    private WordColumns columns;
+    private int[] out;
+
+    @Setup
+    public void setUp() throws Exception {
+        WordleDictionary dictionary = new WordleDictionaryLoader(Logger.discarding())
+                .loadText(WordleBenchmarks.dictionaryFile());
+        packedGuess = PackedWord.pack(guess);
+        packedWords = new long[dictionary.size()];
+        for (int i = 0; i < packedWords.length; i++) {
+            packedWords[i] = dictionary.packedAt(i);
+        }
+        columns = WordColumns.of(dictionary);
+        out = new int[dictionary.size()];
+    }
+
+    @Benchmark
+    public int[] scalar() {
+        for (int i = 0; i < packedWords.length; i++) {
+            out[i] = WordleClue.compute(packedGuess, packedWords[i], 5);
+        }
+        return out;
+    }
+
+    @Benchmark
+    public int[] batch() {
+        WordleClue.computeClues(packedGuess, columns, out);
+        return out;
+    }
+
+    @Benchmark
+    public int[] batchScalar() {
+        WordleClue.computeClues(packedGuess, columns, out, WordleClue.SCALAR_KERNEL);
+        return out;
+    }
+}
@@ -0,0 +1,54 @@
+package ru.yandex.practicum;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+Вычисление подсказки для пары слов: строковый API WordleGame.computeClue
+и примитивные варианты WordleClue на обычной паре и на паре с повторяющимися буквами.
+*/
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClueBenchmark {
+
+    @Param({"typical", "repeated"})
+    public String pair;
+
+    private String guess;
+    private String answer;
+    private long packedGuess;
+    private long packedAnswer;
+
+    @Setup
+    public void setUp() {
+        if (pair.equals("typical")) {
+            guess = "коран";
+            answer = "телик";
+        } else {
+            guess = "колок";
+            answer = "около";
+        }
+        packedGuess = PackedWord.pack(guess);
+        packedAnswer = PackedWord.pack(answer);
+    }
+
+    @Benchmark
+    public String computeClueString() {
+        return WordleGame.computeClue(guess, answer);
+    }
+
+    @Benchmark
+    public int computeCodeString() {
+        return WordleClue.compute(guess, answer);
+    }
+
+    @Benchmark
+    public int computeCodePacked() {
+        return WordleClue.compute(packedGuess, packedAnswer, 5);
+    }
+}
@@ -0,0 +1,67 @@
+package ru.yandex.practicum;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+Загрузка словаря: публичный WordleDictionaryLoader.load (как при запуске игры — со скомпилированным
+файлом рядом с текстом), чтение только скомпилированного файла и построение WordleDictionary
+из уже прочитанных строк.
+Словарь копируется во временный каталог, чтобы скомпилированный файл не трогал рабочий каталог.
+*/
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DictionaryBenchmark {
+
+    private Path directory;
+    private String dictionaryFile;
+    private List<String> rawLines;
+    private Path compiledFile;
+    private Logger logger;
+
+    @Setup
+    public void setUp() throws Exception {
+        Path source = Path.of(WordleBenchmarks.dictionaryFile());
+        rawLines = Files.readAllLines(source, StandardCharsets.UTF_8);
+        logger = Logger.discarding();
+
+        directory = Files.createTempDirectory("wordle-bench");
+        Path copy = Files.copy(source, directory.resolve(source.getFileName()));
+        dictionaryFile = copy.toString();
+        // Первый load пишет скомпилированный файл, дальше load читает его, как при обычном запуске
+        new WordleDictionaryLoader(logger).load(dictionaryFile);
+        compiledFile = CompiledDictionary.compiledFileFor(copy);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(compiledFile);
+        Files.deleteIfExists(Path.of(dictionaryFile));
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public WordleDictionary load() throws DictionaryLoadException {
+        return new WordleDictionaryLoader(logger).load(dictionaryFile);
+    }
+
+    @Benchmark
+    public WordleDictionary loadCompiled() throws IOException {
+        return CompiledDictionary.read(compiledFile, logger);
+    }
+
+    @Benchmark
+    public WordleDictionary buildFromLines() {
+        return new WordleDictionary(rawLines, logger);
+    }
+}
@@ -0,0 +1,58 @@
+package ru.yandex.practicum;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/*
+Ход игры: проверка слова по словарю и полный makeGuess (проверка, подсказка, сужение кандидатов).
+*/
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameBenchmark {
+
+    private WordleDictionary dictionary;
+    private ClueMatrix clueMatrix;
+    private Logger logger;
+    private String[] words;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        logger = Logger.discarding();
+        dictionary = new WordleDictionaryLoader(logger).loadText(WordleBenchmarks.dictionaryFile());
+        clueMatrix = ClueMatrix.build(dictionary);
+
+        Random random = new Random(1);
+        words = new String[1024];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = dictionary.wordAt(random.nextInt(dictionary.size()));
+        }
+    }
+
+    // Новая игра перед каждым вызовом makeGuess, чтобы ход всегда был первым
+    @State(Scope.Thread)
+    public static class FreshGame {
+        WordleGame game;
+
+        @Setup(Level.Invocation)
+        public void newGame(GameBenchmark bench) {
+            game = new WordleGame(bench.dictionary, bench.logger, bench.clueMatrix, new FirstConsistentStrategy(), 0);
+        }
+    }
+
+    @Benchmark
+    public int validate() {
+        return dictionary.indexOf(words[next++ & (words.length - 1)]);
+    }
+
+    @Benchmark
+    public String makeGuess(FreshGame fresh) {
+        return fresh.game.makeGuess(words[next++ & (words.length - 1)]);
+    }
+}
@@ -0,0 +1,53 @@
+package ru.yandex.practicum;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/*
+suggest() после depth ходов (0..5) для разных стратегий.
+Ходы до замера делает та же стратегия, но загаданное слово не угадывается,
+чтобы игра не закончилась раньше нужной глубины.
+*/
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SuggestBenchmark {
+
+    @Param({"0", "1", "2", "3", "4", "5"})
+    public int depth;
+
+    @Param({"first", "entropy"})
+    public String strategy;
+
+    private WordleGame game;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        Logger logger = Logger.discarding();
+        WordleDictionary dictionary = new WordleDictionaryLoader(logger).loadText(WordleBenchmarks.dictionaryFile());
+        ClueMatrix clueMatrix = ClueMatrix.build(dictionary);
+        // Бюджет с запасом: замеряем полный перебор, а не срабатывание ограничения по времени
+        SuggestionStrategy suggestionStrategy = SuggestionStrategy.byName(strategy, 60_000);
+
+        int answer = new Random(depth).nextInt(dictionary.size());
+        game = new WordleGame(dictionary, logger, clueMatrix, suggestionStrategy, answer);
+
+        for (int i = 0; i < depth; i++) {
+            int hint = game.suggestIndex();
+            if (hint == answer || hint < 0) {
+                hint = answer == 0 ? 1 : 0;
+            }
+            game.makeGuess(hint);
+        }
+    }
+
+    @Benchmark
+    public int suggest() {
+        return game.suggestIndex();
+    }
+}
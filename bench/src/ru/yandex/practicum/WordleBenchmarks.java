@@ -0,0 +1,33 @@
+package ru.yandex.practicum;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Path;
+
+/*
+Запуск всех бенчмарков с профилировщиком GC (показывает скорость выделения памяти, gc.alloc.rate.norm).
+Аргумент — регулярное выражение для отбора бенчмарков, например "Clue".
+Путь к словарю задаётся свойством -Dwordle.dictionary (по умолчанию words_ru.txt в рабочем каталоге).
+Форки запускаются с модулем jdk.incubator.vector и -Dwordle.vector=true, чтобы ClueBatchBenchmark.batch
+шёл векторным ядром, а batchScalar — скалярным.
+*/
+public class WordleBenchmarks {
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(args.length > 0 ? args[0] : "ru\\.yandex\\.practicum\\..*Benchmark")
+                .addProfiler(GCProfiler.class)
+                .jvmArgsAppend("-Dwordle.dictionary=" + Path.of(dictionaryFile()).toAbsolutePath(),
+                        "--add-modules=jdk.incubator.vector", "-Dwordle.vector=true")
+                .build();
+        new Runner(options).run();
+    }
+
+    static String dictionaryFile() {
+        return System.getProperty("wordle.dictionary", "words_ru.txt");
+    }
+}
@@ -0,0 +1,186 @@
+package ru.yandex.practicum;
+
+import java.io.PrintWriter;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/*
+Асинхронный логгер. Вызывающий поток только кладёт событие в кольцевой буфер,
+а фоновый поток форматирует события, пишет их пачками и сбрасывает на диск,
+когда набралось batchSize событий или прошло flushIntervalMillis с прошлого сброса.
+При переполнении буфера поведение задаёт OverflowPolicy.
+Создаётся фабрикой start(...), которая сразу запускает поток записи.
+close() перестаёт принимать события, дожидается записи всех принятых и сбрасывает writer.
+Без событий поток записи спит: его будит писатель, положивший событие в пустой буфер,
+или срок сброса накопленных строк.
+*/
+public class AsyncLogger extends Logger {
+
+    public enum OverflowPolicy {
+        BLOCK, // ждать, пока в буфере освободится место
+        DROP   // отбросить событие и увеличить счётчик потерь
+    }
+
+    private static final int DEFAULT_CAPACITY = 8192;
+    private static final int DEFAULT_BATCH_SIZE = 256;
+    private static final long DEFAULT_FLUSH_INTERVAL_MILLIS = 100;
+
+    private final EventRingBuffer<LogEvent> buffer;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final OverflowPolicy policy;
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicInteger activeProducers = new AtomicInteger(); // потоки внутри log()
+    private final Thread writerThread;
+    private volatile boolean running = true;
+    private volatile boolean writerParked;
+
+    public static AsyncLogger start(PrintWriter writer) {
+        return start(writer, DEFAULT_CAPACITY, DEFAULT_BATCH_SIZE, DEFAULT_FLUSH_INTERVAL_MILLIS, OverflowPolicy.BLOCK);
+    }
+
+    public static AsyncLogger start(PrintWriter writer, int capacity, int batchSize, long flushIntervalMillis,
+                                    OverflowPolicy policy) {
+        AsyncLogger logger = new AsyncLogger(writer, capacity, batchSize, flushIntervalMillis, policy);
+        logger.writerThread.start();
+        return logger;
+    }
+
+    private AsyncLogger(PrintWriter writer, int capacity, int batchSize, long flushIntervalMillis,
+                        OverflowPolicy policy) {
+        super(writer);
+        if (batchSize <= 0 || flushIntervalMillis <= 0) {
+            throw new IllegalArgumentException("batchSize и flushIntervalMillis должны быть положительными");
+        }
+        this.buffer = new EventRingBuffer<>(capacity);
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        this.policy = policy;
+
+        this.writerThread = new Thread(this::drainLoop, "wordle-log-writer");
+        writerThread.setDaemon(true);
+    }
+
+    @Override
+    public void log(LogEvent event) {
+        // Пока счётчик не обнулится, поток записи не завершится: событие, прошедшее проверку running,
+        // будет либо записано, либо посчитано отброшенным
+        activeProducers.incrementAndGet();
+        try {
+            if (!running) {
+                dropped.incrementAndGet();
+                return;
+            }
+
+            while (!buffer.offer(event)) {
+                if (policy == OverflowPolicy.DROP || !running) {
+                    dropped.incrementAndGet();
+                    return;
+                }
+                // BLOCK: даём потоку записи освободить место
+                LockSupport.unpark(writerThread);
+                Thread.onSpinWait();
+                LockSupport.parkNanos(10_000);
+            }
+            if (writerParked) {
+                LockSupport.unpark(writerThread);
+            }
+        } finally {
+            activeProducers.decrementAndGet();
+        }
+    }
+
+    // Сколько событий было отброшено из-за переполнения или после закрытия
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    @Override
+    public void close() {
+        if (!running) return;
+        running = false;
+        LockSupport.unpark(writerThread);
+
+        boolean interrupted = false;
+        while (writerThread.isAlive()) {
+            try {
+                writerThread.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void drainLoop() {
+        int pending = 0;
+        long lastFlush = System.nanoTime();
+
+        while (true) {
+            LogEvent event = buffer.poll();
+
+            if (event != null) {
+                writeSafely(event);
+                if (++pending >= batchSize) {
+                    writer.flush();
+                    pending = 0;
+                    lastFlush = System.nanoTime();
+                }
+                continue;
+            }
+
+            if (!running) {
+                // Все принятые события записаны, и никто больше не кладёт новые
+                if (activeProducers.get() == 0 && buffer.isEmpty()) break;
+                Thread.onSpinWait();
+                continue;
+            }
+
+            long untilFlush = 0;
+            if (pending > 0) {
+                untilFlush = flushIntervalNanos - (System.nanoTime() - lastFlush);
+                if (untilFlush <= 0) {
+                    writer.flush();
+                    pending = 0;
+                    lastFlush = System.nanoTime();
+                    untilFlush = 0;
+                }
+            }
+            park(untilFlush);
+        }
+        writer.flush();
+    }
+
+    /*
+     Засыпает до события или на nanos (0 — без срока). Флаг выставляется до повторной проверки буфера,
+     а писатель читает его после offer, поэтому событие, положенное в этот момент, не останется
+     лежать до следующего пробуждения: либо его увидит проверка, либо писатель разбудит поток.
+     */
+    private void park(long nanos) {
+        writerParked = true;
+        try {
+            if (running && buffer.isEmpty()) {
+                if (nanos > 0) {
+                    LockSupport.parkNanos(this, nanos);
+                } else {
+                    LockSupport.park(this);
+                }
+            }
+        } finally {
+            writerParked = false;
+        }
+    }
+
+    // Ошибка форматирования одного события не должна останавливать поток записи
+    private void writeSafely(LogEvent event) {
+        try {
+            event.writeTo(writer);
+        } catch (RuntimeException e) {
+            writer.println("Не удалось записать событие лога " + event.getType() + ": " + e);
+        }
+    }
+}
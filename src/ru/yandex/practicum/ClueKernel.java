@@ -0,0 +1,20 @@
+package ru.yandex.practicum;
+
+/*
+Проходы пакетного подсчёта подсказок (см. WordleClue.computeClues) по словам [0, n);
+смысл каждого — у одноимённого скалярного прохода в WordleClue.
+Скалярное ядро — WordleClue.SCALAR_KERNEL; векторное (WordleClueVector на Vector API) лежит в модуле vector
+и загружается по имени, только если при запуске доступен модуль jdk.incubator.vector (см. WordleClue.vectorKernel).
+*/
+interface ClueKernel {
+
+    void markCorrect(int[] column, int letter, int add, int[] out, int n);
+
+    void markSingleLetter(int[] masks, int letter, int shift, int add, int[] out, int n);
+
+    void countAvailable(int[] column, int letter, int shift, int[] out, int n);
+
+    void takeAvailable(int shift, int add, int[] out, int n);
+
+    void keepBits(int[] out, int mask, int n);
+}
@@ -0,0 +1,205 @@
+package ru.yandex.practicum;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.IntStream;
+
+/*
+Таблица подсказок "слово-попытка × загаданное слово" для всего словаря.
+Ячейка хранит код подсказки WordleClue: до 5 букв (коды 0..242) — байт, для более длинных слов — два байта.
+Таблица строится параллельно один раз для словаря и сохраняется рядом с файлом словаря;
+при следующих запусках файл отображается в память через NIO, и пересчёта не требуется.
+Формат файла: заголовок (магическое число, версия, размер словаря, хэш словаря), затем size*size ячеек;
+ширина ячейки следует из длины слов, а та входит в хэш словаря.
+Таблица растёт квадратично, поэтому для больших словарей длинных слов (см. loadOrBuildIfAffordable)
+подсказки выгоднее считать на лету.
+*/
+public class ClueMatrix implements ClueSource {
+
+    private static final int MAGIC = 0x57434C4D; // "WCLM"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 4 + 4 + 4 + 8;
+    private static final String FILE_SUFFIX = ".clues";
+    private static final int BUILD_BLOCK_ROWS = 64;
+    public static final long MAX_AFFORDABLE_BYTES = 128L * 1024 * 1024;
+
+    private final int size;
+    private final boolean wide; // ячейки по два байта
+    private final ByteBuffer table;
+
+    private ClueMatrix(int size, boolean wide, ByteBuffer table) {
+        this.size = size;
+        this.wide = wide;
+        this.table = table;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public int clue(int guessIndex, int answerIndex) {
+        int cell = guessIndex * size + answerIndex;
+        return wide ? table.getChar(cell << 1) : table.get(cell) & 0xFF;
+    }
+
+    // Размер таблицы для словаря в байтах
+    public static long tableBytes(WordleDictionary dictionary) {
+        long n = dictionary.size();
+        return n * n * cellBytes(dictionary.getWordLength());
+    }
+
+    /*
+     Строит таблицу в памяти: строки делятся на блоки по ядрам,
+     каждая строка считается пакетно по словарю в раскладке по столбцам.
+     */
+    public static ClueMatrix build(WordleDictionary dictionary) {
+        int n = dictionary.size();
+        boolean wide = cellBytes(dictionary.getWordLength()) == 2;
+        checkSize(dictionary);
+        long start = Metrics.start();
+
+        WordColumns columns = WordColumns.of(dictionary);
+        byte[] cells = new byte[(int) tableBytes(dictionary)];
+        int blocks = (n + BUILD_BLOCK_ROWS - 1) / BUILD_BLOCK_ROWS;
+        IntStream.range(0, blocks).parallel().forEach(block -> {
+            int[] codes = new int[n];
+            int end = Math.min(n, (block + 1) * BUILD_BLOCK_ROWS);
+            for (int g = block * BUILD_BLOCK_ROWS; g < end; g++) {
+                WordleClue.computeClues(dictionary.packedAt(g), columns, codes);
+                int row = g * n;
+                if (wide) {
+                    // два байта на ячейку, старший первым, как читает ByteBuffer.getChar
+                    for (int a = 0; a < n; a++) {
+                        cells[(row + a) << 1] = (byte) (codes[a] >>> 8);
+                        cells[((row + a) << 1) + 1] = (byte) codes[a];
+                    }
+                } else {
+                    for (int a = 0; a < n; a++) {
+                        cells[row + a] = (byte) codes[a];
+                    }
+                }
+            }
+        });
+        Metrics.stop(Metrics.CLUE_MATRIX_BUILD, start);
+        return new ClueMatrix(n, wide, ByteBuffer.wrap(cells));
+    }
+
+    /*
+     То же, что loadOrBuild, но только если таблица занимает не больше MAX_AFFORDABLE_BYTES;
+     иначе null — игра тогда считает подсказки на лету (ClueSource.of).
+     */
+    public static ClueMatrix loadOrBuildIfAffordable(WordleDictionary dictionary, Path dictionaryFile, Logger logger) {
+        if (tableBytes(dictionary) > MAX_AFFORDABLE_BYTES) {
+            logger.log("Таблица подсказок для " + dictionary.size() + " слов из " + dictionary.getWordLength()
+                    + " букв не строится: подсказки считаются на лету");
+            return null;
+        }
+        return loadOrBuild(dictionary, dictionaryFile, logger);
+    }
+
+    /*
+     Возвращает таблицу для словаря, используя файл-кэш рядом с файлом словаря.
+     Если подходящий файл есть — он отображается в память, иначе таблица строится
+     и сохраняется. Ошибки записи кэша не фатальны: таблица остаётся в памяти.
+     */
+    public static ClueMatrix loadOrBuild(WordleDictionary dictionary, Path dictionaryFile, Logger logger) {
+        checkSize(dictionary);
+        long hash = dictionary.contentHash();
+        Path cacheFile = cacheFileFor(dictionaryFile, hash);
+        int n = dictionary.size();
+        int cellBytes = cellBytes(dictionary.getWordLength());
+
+        if (Files.isRegularFile(cacheFile)) {
+            try {
+                long start = Metrics.start();
+                ClueMatrix mapped = map(cacheFile, n, cellBytes, hash);
+                Metrics.stop(Metrics.CLUE_MATRIX_LOAD, start);
+                logger.log("Таблица подсказок загружена из " + cacheFile.getFileName());
+                return mapped;
+            } catch (IOException e) {
+                logger.logError("Файл таблицы подсказок повреждён, строим заново", e);
+            }
+        }
+
+        long start = System.nanoTime();
+        ClueMatrix built = build(dictionary);
+        logger.log("Таблица подсказок построена за " + (System.nanoTime() - start) / 1_000_000 + " мс");
+
+        try {
+            built.save(cacheFile, hash);
+        } catch (IOException e) {
+            logger.logError("Не удалось сохранить таблицу подсказок: " + cacheFile, e);
+        }
+        return built;
+    }
+
+    // Имя файла-кэша: <имя словаря без расширения>.<хэш>.clues в том же каталоге
+    static Path cacheFileFor(Path dictionaryFile, long hash) {
+        Path absolute = dictionaryFile.toAbsolutePath();
+        String name = absolute.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        String base = dot > 0 ? name.substring(0, dot) : name;
+        return absolute.resolveSibling(base + "." + Long.toHexString(hash) + FILE_SUFFIX);
+    }
+
+    private void save(Path file, long hash) throws IOException {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.BIG_ENDIAN);
+            header.putInt(MAGIC).putInt(VERSION).putInt(size).putLong(hash).flip();
+            writeFully(channel, header);
+            writeFully(channel, table.duplicate().clear());
+        }
+        // Переименование атомарно, поэтому другой процесс не увидит недописанный файл
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static ClueMatrix map(Path file, int expectedSize, int cellBytes, long expectedHash) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long tableLength = (long) expectedSize * expectedSize * cellBytes;
+            if (tableLength > Integer.MAX_VALUE) {
+                throw new IOException("Таблица из " + tableLength + " байт не отображается одним буфером");
+            }
+            long expectedLength = HEADER_SIZE + tableLength;
+            if (channel.size() != expectedLength) {
+                throw new IOException("Неверный размер файла: " + channel.size() + ", ожидалось " + expectedLength);
+            }
+
+            ByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, expectedLength);
+            if (mapped.getInt(0) != MAGIC || mapped.getInt(4) != VERSION) {
+                throw new IOException("Неизвестный формат файла");
+            }
+            if (mapped.getInt(8) != expectedSize || mapped.getLong(12) != expectedHash) {
+                throw new IOException("Файл построен для другого словаря");
+            }
+            return new ClueMatrix(expectedSize, cellBytes == 2, mapped.slice(HEADER_SIZE, (int) tableLength));
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static void checkSize(WordleDictionary dictionary) {
+        if (tableBytes(dictionary) > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Словарь слишком велик для таблицы подсказок: " + dictionary.size()
+                    + " слов, " + tableBytes(dictionary) + " байт при пределе " + Integer.MAX_VALUE);
+        }
+    }
+
+    // Байт на ячейку: коды подсказок слов до 5 букв помещаются в байт
+    private static int cellBytes(int wordLength) {
+        return WordleClue.codeCount(wordLength) <= 256 ? 1 : 2;
+    }
+}
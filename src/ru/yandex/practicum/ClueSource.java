@@ -0,0 +1,45 @@
+package ru.yandex.practicum;
+
+/*
+Источник кодов подсказок по индексам слов словаря.
+Реализуется таблицей ClueMatrix; если таблицы нет, подсказки считаются на лету.
+*/
+public interface ClueSource {
+
+    // Код подсказки (см. WordleClue) для слова-попытки guessIndex, если загадано слово answerIndex
+    int clue(int guessIndex, int answerIndex);
+
+    /*
+     Подготовка к подсчёту подсказок многих слов-попыток против одного набора ответов answers
+     (индексы словаря). Источник, считающий на лету, раскладывает ответы по столбцам один раз
+     и дальше считает пакетно. null — пакетного подсчёта нет и дешевле звать clue по одной паре
+     (так у таблицы ClueMatrix, где подсказка — одно чтение байта).
+     */
+    default AnswerSet answers(int[] answers) {
+        return null;
+    }
+
+    // Источник, вычисляющий подсказки напрямую по словам словаря
+    static ClueSource of(WordleDictionary dictionary) {
+        int length = dictionary.getWordLength();
+        return new ClueSource() {
+            @Override
+            public int clue(int guessIndex, int answerIndex) {
+                return WordleClue.compute(dictionary.packedAt(guessIndex), dictionary.packedAt(answerIndex), length);
+            }
+
+            @Override
+            public AnswerSet answers(int[] answers) {
+                WordColumns columns = WordColumns.of(dictionary, answers, answers.length);
+                return (guessIndex, out) -> WordleClue.computeClues(dictionary.packedAt(guessIndex), columns, out);
+            }
+        };
+    }
+
+    // Набор ответов, для которого подсказки считаются пакетом
+    interface AnswerSet {
+
+        // out[i] — код подсказки для слова-попытки guessIndex и i-го ответа набора
+        void clues(int guessIndex, int[] out);
+    }
+}
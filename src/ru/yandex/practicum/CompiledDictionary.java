@@ -0,0 +1,160 @@
+package ru.yandex.practicum;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/*
+Скомпилированный словарь — двоичный файл с уже нормализованными, уникальными словами одной длины.
+Каждое слово хранится как упакованный long (см. PackedWord), поэтому загрузка — одно чтение файла
+без разбора текста и кодировок. Для каждой длины слов — свой файл (см. compiledFileFor).
+Формат (big-endian):
+  int  магическое число "WDIC"
+  int  версия формата
+  int  длина слова
+  int  число слов
+  int  флаги (зарезервировано под дополнительные индексы, сейчас 0)
+  long хэш содержимого словаря (WordleDictionary.contentHash)
+  int  CRC32 данных
+  long[число слов] упакованные слова в порядке индексов
+Индекс по буквам в файл не пишется: он строится из упакованных слов за доли миллисекунды.
+
+Запуск как команда: java ru.yandex.practicum.CompiledDictionary <словарь.txt> [<выход.wdict>] [--length=5]
+*/
+public class CompiledDictionary {
+
+    public static final String FILE_SUFFIX = ".wdict";
+
+    private static final int MAGIC = 0x57444943; // "WDIC"
+    private static final int VERSION = 2; // 1 — слова в int, не длиннее 6 букв
+    private static final int HEADER_SIZE = 4 * 5 + 8 + 4;
+
+    private CompiledDictionary() {
+    }
+
+    public static void main(String[] args) {
+        int length = WordleDictionary.DEFAULT_WORD_LENGTH;
+        List<String> files = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith("--length=")) {
+                length = Integer.parseInt(arg.substring("--length=".length()));
+            } else {
+                files.add(arg);
+            }
+        }
+        if (files.size() < 1 || files.size() > 2) {
+            System.out.println("Использование: CompiledDictionary <словарь.txt> [<выход" + FILE_SUFFIX + ">] [--length=N]");
+            return;
+        }
+
+        Path source = Path.of(files.get(0));
+        Path target = files.size() == 2 ? Path.of(files.get(1)) : compiledFileFor(source, length);
+        Logger logger = new Logger(new PrintWriter(System.out));
+
+        try {
+            WordleDictionary dictionary = new WordleDictionaryLoader(logger).loadText(source.toString(), length);
+            write(dictionary, target);
+            System.out.println("Словарь скомпилирован: " + target + " (" + dictionary.size() + " слов)");
+        } catch (DictionaryLoadException | IOException | IllegalArgumentException e) {
+            System.out.println("Не удалось скомпилировать словарь: " + e.getMessage());
+        }
+    }
+
+    // Имя скомпилированного файла по умолчанию: words_ru.txt -> words_ru.wdict
+    public static Path compiledFileFor(Path source) {
+        return compiledFileFor(source, WordleDictionary.DEFAULT_WORD_LENGTH);
+    }
+
+    // Для слов другой длины в имя добавляется длина: words_ru.txt -> words_ru.6.wdict
+    public static Path compiledFileFor(Path source, int wordLength) {
+        String name = source.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        String base = dot > 0 ? name.substring(0, dot) : name;
+        String suffix = wordLength == WordleDictionary.DEFAULT_WORD_LENGTH ? FILE_SUFFIX : "." + wordLength + FILE_SUFFIX;
+        return source.resolveSibling(base + suffix);
+    }
+
+    // Записывает словарь во временный файл и атомарно переименовывает его в target
+    public static void write(WordleDictionary dictionary, Path target) throws IOException {
+        int n = dictionary.size();
+        ByteBuffer data = ByteBuffer.allocate(n * 8).order(ByteOrder.BIG_ENDIAN);
+        for (int i = 0; i < n; i++) {
+            data.putLong(dictionary.packedAt(i));
+        }
+        data.flip();
+
+        CRC32 crc = new CRC32();
+        crc.update(data.duplicate());
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.BIG_ENDIAN);
+        header.putInt(MAGIC).putInt(VERSION).putInt(dictionary.getWordLength()).putInt(n).putInt(0)
+                .putLong(dictionary.contentHash()).putInt((int) crc.getValue()).flip();
+
+        Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (header.hasRemaining() || data.hasRemaining()) {
+                channel.write(new ByteBuffer[]{header, data});
+            }
+        }
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // Читает скомпилированный словарь одним чтением; при любой несогласованности бросает IOException
+    public static WordleDictionary read(Path file, Logger logger) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+                throw new IOException("Неверный размер файла: " + size);
+            }
+            buffer = ByteBuffer.allocate((int) size).order(ByteOrder.BIG_ENDIAN);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) break;
+            }
+            buffer.flip();
+        }
+
+        if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+            throw new IOException("Неизвестный формат файла");
+        }
+        int wordLength = buffer.getInt();
+        int n = buffer.getInt();
+        buffer.getInt(); // флаги
+        long hash = buffer.getLong();
+        int checksum = buffer.getInt();
+
+        if (wordLength < WordleDictionary.MIN_WORD_LENGTH || wordLength > WordleDictionary.MAX_WORD_LENGTH) {
+            throw new IOException("Файл содержит слова длины " + wordLength);
+        }
+        if (n < 0 || buffer.remaining() != (long) n * 8) {
+            throw new IOException("Неверный размер данных: " + buffer.remaining() + ", ожидалось " + (long) n * 8);
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate());
+        if ((int) crc.getValue() != checksum) {
+            throw new IOException("Контрольная сумма не совпадает");
+        }
+
+        WordleDictionary.Builder builder = new WordleDictionary.Builder(n, wordLength);
+        for (int i = 0; i < n; i++) {
+            builder.addPacked(buffer.getLong());
+        }
+        WordleDictionary dictionary = new WordleDictionary(builder, logger);
+
+        if (dictionary.size() != n || dictionary.contentHash() != hash) {
+            throw new IOException("Содержимое файла не совпадает с заголовком");
+        }
+        return dictionary;
+    }
+}
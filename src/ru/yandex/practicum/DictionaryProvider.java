@@ -0,0 +1,180 @@
+package ru.yandex.practicum;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/*
+Источник текущего словаря с перезагрузкой на лету.
+Файл словаря читается один раз на (пере)загрузку в PartitionedDictionary, так что один процесс
+обслуживает игры любой длины из файла: снимок сразу строит словарь и таблицу подсказок длины
+по умолчанию, а словари и таблицы других длин — при первой игре такой длины (см. DictionarySnapshot).
+Провайдер следит за файлом словаря; после изменения в фоновом потоке перечитывает его
+и публикует новый снимок одной записью в volatile-поле. Читатели (создание новых игр)
+не блокируются ни на время загрузки, ни на время публикации: они видят либо старый снимок, либо новый.
+Начатые игры держат свой снимок, а старый снимок собирается сборщиком мусора,
+когда на него не остаётся ссылок из игр.
+Если перечитанный файл совпадает с текущим по содержимому, снимок не меняется.
+*/
+public class DictionaryProvider implements AutoCloseable {
+
+    private static final long DEBOUNCE_MILLIS = 200; // сколько ждать, пока файл допишут, перед перезагрузкой
+
+    private final Path dictionaryFile;
+    private final int defaultLength;
+    private final boolean withClueMatrix;
+    private final Logger logger;
+
+    private volatile DictionarySnapshot current;
+    private volatile long lastReloadMillis = -1;
+    private volatile int reloadCount;
+    private volatile int failedReloadCount;
+
+    private WatchService watchService;
+    private Thread watcher;
+
+    /*
+     Загружает словарь сразу, в вызывающем потоке. withClueMatrix — строить ли таблицы подсказок
+     (ClueMatrix.loadOrBuildIfAffordable) для длин, в которые играют.
+     */
+    public DictionaryProvider(Path dictionaryFile, boolean withClueMatrix, Logger logger)
+            throws DictionaryLoadException {
+        this(dictionaryFile, WordleDictionary.DEFAULT_WORD_LENGTH, withClueMatrix, logger);
+    }
+
+    // То же с длиной слов по умолчанию defaultLength — для игр, в которых длина не указана
+    public DictionaryProvider(Path dictionaryFile, int defaultLength, boolean withClueMatrix, Logger logger)
+            throws DictionaryLoadException {
+        WordleDictionary.checkWordLength(defaultLength);
+        this.dictionaryFile = dictionaryFile.toAbsolutePath();
+        this.defaultLength = defaultLength;
+        this.withClueMatrix = withClueMatrix;
+        this.logger = logger;
+        this.current = load(1);
+    }
+
+    public DictionarySnapshot current() {
+        return current;
+    }
+
+    // Время последней успешной перезагрузки в миллисекундах или -1, если перезагрузок не было
+    public long getLastReloadMillis() {
+        return lastReloadMillis;
+    }
+
+    public int getReloadCount() {
+        return reloadCount;
+    }
+
+    public int getFailedReloadCount() {
+        return failedReloadCount;
+    }
+
+    // Запускает фоновое слежение за файлом словаря
+    public synchronized void start() throws IOException {
+        if (watcher != null) return;
+
+        watchService = FileSystems.getDefault().newWatchService();
+        dictionaryFile.getParent().register(watchService,
+                StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+
+        watcher = new Thread(this::watch, "wordle-dictionary-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    /*
+     Перечитывает словарь в вызывающем потоке и публикует новый снимок, если содержимое изменилось.
+     Возвращает true, если снимок сменился. При ошибке загрузки остаётся прежний снимок.
+     */
+    public synchronized boolean reload() {
+        DictionarySnapshot previous = current;
+        long start = System.nanoTime();
+        try {
+            DictionarySnapshot next = load(previous.getVersion() + 1);
+            if (next.contentHash() == previous.contentHash()) {
+                return false;
+            }
+
+            current = next;
+            lastReloadMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            reloadCount++;
+            logger.log("Словарь перезагружен: версия " + next.getVersion() + ", "
+                    + next.getDictionary().size() + " слов за " + lastReloadMillis + " мс");
+            return true;
+        } catch (DictionaryLoadException | RuntimeException e) {
+            failedReloadCount++;
+            logger.logError("Не удалось перезагрузить словарь, остаётся версия " + previous.getVersion(), e);
+            return false;
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (watcher == null) return;
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            logger.logError("Ошибка при остановке слежения за словарём", e);
+        }
+        watcher.interrupt();
+        watcher = null;
+    }
+
+    private DictionarySnapshot load(long version) throws DictionaryLoadException {
+        long start = System.nanoTime();
+        PartitionedDictionary words = new WordleDictionaryLoader(logger).loadAll(dictionaryFile.toString());
+        Function<WordleDictionary, ClueMatrix> clueMatrices = withClueMatrix
+                ? dictionary -> ClueMatrix.loadOrBuildIfAffordable(dictionary, dictionaryFile, logger)
+                : null;
+
+        // Длину по умолчанию готовим до публикации, а не в первой игре
+        WordleDictionary dictionary = words.forLength(defaultLength);
+        dictionary.getLetterIndex();
+        ClueMatrix clueMatrix = clueMatrices != null ? clueMatrices.apply(dictionary) : null;
+        return new DictionarySnapshot(words, dictionary, clueMatrix, clueMatrices, version,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private void watch() {
+        Path sourceName = dictionaryFile.getFileName();
+
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean relevant = isRelevant(key, sourceName);
+
+                // Файл обычно меняется серией событий: ждём, пока они закончатся
+                while (relevant) {
+                    WatchKey more = watchService.poll(DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS);
+                    if (more == null) break;
+                    isRelevant(more, sourceName);
+                }
+                if (relevant) {
+                    reload();
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // слежение остановлено через close()
+        }
+    }
+
+    private static boolean isRelevant(WatchKey key, Path sourceName) {
+        boolean relevant = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            Object context = event.context();
+            if (sourceName.equals(context) || event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                relevant = true;
+            }
+        }
+        key.reset();
+        return relevant;
+    }
+}
@@ -0,0 +1,124 @@
+package ru.yandex.practicum;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+/*
+Неизменяемый снимок словаря вместе с производными структурами: таблицей подсказок
+(может быть null) и построенным индексом по буквам. Игра держит ссылку на свой снимок,
+поэтому смена словаря не меняет ни её ответ, ни множество кандидатов.
+
+Снимок из DictionaryProvider держит слова всех длин одного файла (PartitionedDictionary):
+словарь длины по умолчанию и его таблица подсказок готовы при создании снимка, словари и таблицы
+остальных длин строятся при первой игре такой длины и дальше переиспользуются.
+Снимок из одного словаря обслуживает только его длину.
+*/
+public final class DictionarySnapshot {
+
+    private final PartitionedDictionary words;       // null — снимок одного словаря
+    private final WordleDictionary dictionary;       // словарь длины по умолчанию
+    private final Function<WordleDictionary, ClueMatrix> clueMatrices; // null — без таблиц подсказок
+    private final AtomicReferenceArray<Optional<ClueMatrix>> clueMatrixByLength =
+            new AtomicReferenceArray<>(WordleDictionary.MAX_WORD_LENGTH + 1);
+    private final long version;
+    private final long loadMillis;
+
+    public DictionarySnapshot(WordleDictionary dictionary, ClueMatrix clueMatrix, long version, long loadMillis) {
+        this(null, dictionary, clueMatrix, null, version, loadMillis);
+    }
+
+    /*
+     Снимок слов всех длин из words. dictionary — уже построенный словарь длины по умолчанию
+     (для игр, в которых длина не указана), clueMatrix — его таблица подсказок или null.
+     clueMatrices строит (или загружает) таблицу для словаря другой длины и может вернуть null,
+     если таблица слишком велика; null вместо функции — без таблиц.
+     */
+    public DictionarySnapshot(PartitionedDictionary words, WordleDictionary dictionary, ClueMatrix clueMatrix,
+                              Function<WordleDictionary, ClueMatrix> clueMatrices, long version, long loadMillis) {
+        if (dictionary == null) {
+            throw new IllegalArgumentException("dictionary == null");
+        }
+        this.words = words;
+        this.dictionary = dictionary;
+        this.clueMatrices = clueMatrices;
+        this.clueMatrixByLength.set(dictionary.getWordLength(), Optional.ofNullable(clueMatrix));
+        this.version = version;
+        this.loadMillis = loadMillis;
+    }
+
+    // Словарь длины по умолчанию
+    public WordleDictionary getDictionary() {
+        return dictionary;
+    }
+
+    public ClueMatrix getClueMatrix() {
+        return getClueMatrix(dictionary.getWordLength());
+    }
+
+    public int getDefaultLength() {
+        return dictionary.getWordLength();
+    }
+
+    // Длины слов, в которые можно играть на этом снимке
+    public int[] getWordLengths() {
+        return words != null ? words.wordLengths() : new int[]{dictionary.getWordLength()};
+    }
+
+    /*
+     Словарь слов длины wordLength с построенным индексом по буквам; строится при первом обращении.
+     Длина, слов которой в снимке нет, — IllegalArgumentException.
+     */
+    public WordleDictionary getDictionary(int wordLength) {
+        if (wordLength == dictionary.getWordLength()) return dictionary;
+        if (words == null) {
+            throw new IllegalArgumentException("Словарь содержит только слова из " + dictionary.getWordLength()
+                    + " букв: " + wordLength);
+        }
+        WordleDictionary result = words.forLength(wordLength);
+        if (result.size() == 0) {
+            throw new IllegalArgumentException("В словаре нет слов из " + wordLength + " букв");
+        }
+        result.getLetterIndex();
+        return result;
+    }
+
+    // Таблица подсказок для слов длины wordLength или null; строится при первом обращении
+    public ClueMatrix getClueMatrix(int wordLength) {
+        WordleDictionary.checkWordLength(wordLength);
+        Optional<ClueMatrix> matrix = clueMatrixByLength.get(wordLength);
+        if (matrix != null) return matrix.orElse(null);
+        if (clueMatrices == null) return null;
+
+        WordleDictionary lengthDictionary = getDictionary(wordLength);
+        synchronized (lengthDictionary) { // таблицы разных длин строятся независимо
+            matrix = clueMatrixByLength.get(wordLength);
+            if (matrix == null) {
+                matrix = Optional.ofNullable(clueMatrices.apply(lengthDictionary));
+                clueMatrixByLength.set(wordLength, matrix);
+            }
+            return matrix.orElse(null);
+        }
+    }
+
+    // Построена ли уже таблица подсказок длины wordLength (или решено, что её не будет)
+    boolean isClueMatrixBuilt(int wordLength) {
+        WordleDictionary.checkWordLength(wordLength);
+        return clueMatrixByLength.get(wordLength) != null;
+    }
+
+    // Хэш содержимого снимка: всех длин для снимка из PartitionedDictionary, иначе — словаря
+    long contentHash() {
+        return words != null ? words.contentHash() : dictionary.contentHash();
+    }
+
+    // Номер снимка: 1 — первая загрузка, дальше растёт с каждой перезагрузкой
+    public long getVersion() {
+        return version;
+    }
+
+    // Сколько заняла загрузка словаря и построение его индексов
+    public long getLoadMillis() {
+        return loadMillis;
+    }
+}
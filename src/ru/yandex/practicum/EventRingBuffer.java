@@ -0,0 +1,76 @@
+package ru.yandex.practicum;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/*
+Ограниченная неблокирующая очередь "много писателей — один читатель" на кольцевом буфере.
+У каждой ячейки есть номер последовательности: писатель занимает позицию через CAS на хвосте
+и публикует элемент, выставляя номер ячейки; читатель забирает элемент и освобождает ячейку
+для следующего круга. Ни писатели, ни читатель не берут блокировок.
+*/
+final class EventRingBuffer<E> {
+
+    private final int mask;
+    private final AtomicReferenceArray<E> slots;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong(); // следующая позиция для записи
+    private long head;                                // следующая позиция для чтения (только читатель)
+
+    // Ёмкость округляется вверх до степени двойки
+    EventRingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        this.mask = size - 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+
+    // Добавляет элемент; возвращает false, если буфер заполнен
+    boolean offer(E element) {
+        long pos = tail.get();
+        while (true) {
+            int index = (int) (pos & mask);
+            long diff = sequences.get(index) - pos;
+
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    slots.lazySet(index, element);
+                    sequences.lazySet(index, pos + 1);
+                    return true;
+                }
+                pos = tail.get();
+            } else if (diff < 0) {
+                return false;
+            } else {
+                pos = tail.get();
+            }
+        }
+    }
+
+    // Забирает элемент или возвращает null, если буфер пуст; вызывается только из одного потока
+    E poll() {
+        int index = (int) (head & mask);
+        if (sequences.get(index) != head + 1) {
+            return null;
+        }
+
+        E element = slots.get(index);
+        slots.lazySet(index, null);
+        sequences.lazySet(index, head + mask + 1);
+        head++;
+        return element;
+    }
+
+    // Оценка пустоты: точна, если писатели остановлены
+    boolean isEmpty() {
+        return tail.get() == head;
+    }
+}
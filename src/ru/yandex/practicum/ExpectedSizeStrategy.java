@@ -0,0 +1,21 @@
+package ru.yandex.practicum;
+
+/*
+Выбирает слово с минимальным ожидаемым числом оставшихся кандидатов: Σ c² / n.
+*/
+public class ExpectedSizeStrategy extends ScoringStrategy {
+
+    public ExpectedSizeStrategy(long budgetMillis) {
+        super(budgetMillis);
+    }
+
+    @Override
+    protected double score(int[] buckets, int[] touched, int touchedCount, int total) {
+        long sum = 0;
+        for (int i = 0; i < touchedCount; i++) {
+            long c = buckets[touched[i]];
+            sum += c * c;
+        }
+        return (double) sum / total;
+    }
+}
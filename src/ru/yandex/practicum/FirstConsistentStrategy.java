@@ -0,0 +1,13 @@
+package ru.yandex.practicum;
+
+/*
+Исходная политика подсказок: первое по порядку словаря слово среди кандидатов.
+Работает мгновенно, но часто тратит попытки на слова, отличающиеся одной буквой.
+*/
+public class FirstConsistentStrategy implements SuggestionStrategy {
+
+    @Override
+    public int suggest(WordleDictionary dictionary, ClueSource clues, WordBitSet candidates) {
+        return candidates.nextSetBit(0);
+    }
+}
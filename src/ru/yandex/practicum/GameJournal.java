@@ -0,0 +1,393 @@
+package ru.yandex.practicum;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/*
+Журнал игр — двоичный файл только на дозапись. Каждая запись — снимок игры после хода:
+загаданное слово, введённые слова индексами словаря и коды подсказок (см. WordleClue).
+Последняя запись игры задаёт её состояние: законченные игры читает статистика (GameJournalReader),
+незаконченные восстанавливаются после падения процесса (GameRecord.replay).
+
+Журнал — каталог с сегментами journal-000001.wjrn, journal-000002.wjrn, ...
+Каждый запуск пишет в новый сегмент; сегмент больше maxSegmentBytes закрывается и начинается следующий.
+Пока журнал открыт, каталог заблокирован (FileLock на файле journal.lock): второй процесс, открывающий
+тот же каталог, получает JournalLockedException, а не гонку за имена сегментов.
+Словарь записан в каждом кадре: после перезагрузки словаря (см. DictionaryProvider) игры на старом
+и новом словарях копятся в своих буферах (по хэшу словаря) и уходят в тот же сегмент своими кадрами,
+так что чередование словарей не плодит сегменты.
+Формат сегмента (big-endian), версия 2:
+  int  магическое число "WJRN"
+  int  версия формата
+  long 0 (в версии 1 — хэш словаря всех кадров сегмента)
+  кадры: int длина данных, int CRC32 хэша и данных, long хэш содержимого словаря
+         (WordleDictionary.contentHash), записи; в версии 1 хэша в кадре нет
+Формат записи:
+  byte флаги (FINISHED, WON, ABANDONED)
+  long идентификатор игры
+  int  индекс загаданного слова
+  byte число ходов
+  (int индекс слова, short код подсказки) на каждый ход
+
+append только копирует запись в буфер в памяти под коротким монитором журнала и не делает ввода-вывода,
+поэтому её можно звать под блокировкой сессии игры. Буферы уходят на диск кадрами в фоновом потоке
+раз в flushIntervalMillis, сразу после заполнения буфера или при flush(); запись в файл идёт
+под отдельной блокировкой и не задерживает append. Кадр, оборванный падением процесса,
+читатель узнаёт по длине или CRC и пропускает.
+*/
+public class GameJournal implements AutoCloseable {
+
+    public static final String SEGMENT_SUFFIX = ".wjrn";
+
+    static final String LOCK_FILE = "journal.lock";
+    static final int MAGIC = 0x574A524E; // "WJRN"
+    static final int VERSION = 2;
+    static final int VERSION_SEGMENT_HASH = 1; // хэш словаря в заголовке сегмента, а не в кадрах
+    static final int HEADER_SIZE = 4 + 4 + 8;
+    static final int FRAME_HEADER_SIZE = 4 + 4 + 8;
+    static final int FRAME_HEADER_SIZE_V1 = 4 + 4;
+    static final int MAX_FRAME_SIZE = 64 * 1024;
+
+    static final int FINISHED = 1;  // игра закончена
+    static final int WON = 2;       // и выиграна
+    static final int ABANDONED = 4; // игра удалена незаконченной: восстанавливать не нужно
+
+    private static final long DEFAULT_MAX_SEGMENT_BYTES = 64L * 1024 * 1024;
+    private static final long DEFAULT_FLUSH_INTERVAL_MILLIS = 100;
+
+    private final Path directory;
+    private final long maxSegmentBytes;
+    private final Logger logger;
+    private final FileChannel lockChannel;      // держит блокировку каталога до close()
+    private final ScheduledExecutorService flusher;
+
+    // Под монитором журнала: буферы записей по хэшу словаря и заполненные кадры, ждущие записи
+    private final Map<Long, ByteBuffer> pending = new LinkedHashMap<>();
+    private final ArrayDeque<Frame> full = new ArrayDeque<>();
+    private final ArrayDeque<ByteBuffer> spare = new ArrayDeque<>(); // записанные буферы для повторного использования
+    private boolean flushRequested;
+    private long recordCount;
+    private boolean closed;
+
+    // Под writeLock: открытый сегмент
+    private final Object writeLock = new Object();
+    private final CRC32 crc = new CRC32();
+    private FileChannel segment;                // null, пока не записан первый кадр
+    private int segmentNumber;
+    private long segmentBytes;
+
+    public static GameJournal open(Path directory, Logger logger) throws IOException {
+        return open(directory, DEFAULT_MAX_SEGMENT_BYTES, DEFAULT_FLUSH_INTERVAL_MILLIS, logger);
+    }
+
+    // Открывает журнал в каталоге directory и запускает фоновый сброс раз в flushIntervalMillis
+    public static GameJournal open(Path directory, long maxSegmentBytes, long flushIntervalMillis, Logger logger)
+            throws IOException {
+        GameJournal journal = new GameJournal(directory, maxSegmentBytes, flushIntervalMillis, logger);
+        journal.flusher.scheduleWithFixedDelay(journal::flushQuietly, flushIntervalMillis, flushIntervalMillis,
+                TimeUnit.MILLISECONDS);
+        return journal;
+    }
+
+    private GameJournal(Path directory, long maxSegmentBytes, long flushIntervalMillis, Logger logger)
+            throws IOException {
+        if (maxSegmentBytes < HEADER_SIZE + FRAME_HEADER_SIZE + MAX_FRAME_SIZE || flushIntervalMillis <= 0) {
+            throw new IllegalArgumentException("Слишком маленький сегмент или неположительный интервал сброса");
+        }
+        this.directory = directory;
+        this.maxSegmentBytes = maxSegmentBytes;
+        this.logger = logger;
+
+        Files.createDirectories(directory);
+        this.lockChannel = lockDirectory(directory);
+        try {
+            this.segmentNumber = lastSegmentNumber(directory);
+        } catch (IOException e) {
+            lockChannel.close();
+            throw e;
+        }
+
+        this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "wordle-journal-flusher");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    // Сколько записей принято с момента открытия
+    public synchronized long getRecordCount() {
+        return recordCount;
+    }
+
+    // Записывает текущее состояние игры gameId
+    public void append(long gameId, WordleGame game) {
+        int flags = game.isFinished() ? (game.isWon() ? FINISHED | WON : FINISHED) : 0;
+        append(gameId, game, flags);
+    }
+
+    // Отмечает, что незаконченная игра удалена и восстанавливать её не нужно
+    public void appendAbandoned(long gameId, WordleGame game) {
+        if (!game.isFinished()) { // у законченной игры последняя запись уже есть
+            append(gameId, game, ABANDONED);
+        }
+    }
+
+    // Только копирование в буфер; ошибки записи в файл не прерывают игру, а попадают в лог
+    private synchronized void append(long gameId, WordleGame game, int flags) {
+        if (closed) return;
+
+        int count = game.getGuessCount();
+        long hash = game.getDictionary().contentHash();
+        ByteBuffer buffer = pending.get(hash);
+        if (buffer != null && buffer.remaining() < recordSize(count)) {
+            full.add(new Frame(hash, buffer));
+            buffer = null;
+            requestFlush();
+        }
+        if (buffer == null) {
+            buffer = spare.isEmpty() ? ByteBuffer.allocate(MAX_FRAME_SIZE).order(ByteOrder.BIG_ENDIAN) : spare.poll();
+            pending.put(hash, buffer);
+        }
+        buffer.put((byte) flags).putLong(gameId).putInt(game.getAnswerIndex()).put((byte) count);
+        for (int i = 0; i < count; i++) {
+            buffer.putInt(game.getGuessIndex(i)).putShort((short) game.getClueCode(i));
+        }
+        recordCount++;
+    }
+
+    // Будит фоновый поток, не дожидаясь интервала сброса (один раз, пока он не отработал)
+    private void requestFlush() {
+        if (flushRequested) return;
+        flushRequested = true;
+        try {
+            flusher.execute(this::flushQuietly);
+        } catch (RejectedExecutionException e) {
+            flushRequested = false; // журнал закрывается: close() сам сбросит буферы
+        }
+    }
+
+    /*
+     Отправляет накопленные записи в файл: по кадру на каждый заполненный буфер и на каждый словарь.
+     Если запись не удалась, незаписанные кадры остаются в очереди до следующего сброса (или close),
+     а следующий кадр начнёт новый сегмент: в текущем мог остаться оборванный кадр.
+     */
+    public void flush() throws IOException {
+        synchronized (writeLock) {
+            List<Frame> frames = takeFrames();
+            if (frames.isEmpty()) return;
+            int written = 0;
+            try {
+                for (Frame frame : frames) {
+                    writeFrame(frame);
+                    written++;
+                }
+            } catch (IOException | RuntimeException e) {
+                abandonSegment();
+                throw e;
+            } finally {
+                recycle(frames.subList(0, written));
+                requeue(frames.subList(written, frames.size()));
+            }
+        }
+    }
+
+    // Сбрасывает записи, дожидается их записи на диск и закрывает сегмент
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (closed) return;
+            closed = true;
+        }
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (writeLock) {
+            try {
+                flush();
+                if (segment != null) {
+                    segment.force(false);
+                }
+            } finally {
+                try {
+                    if (segment != null) {
+                        segment.close();
+                        segment = null;
+                    }
+                } finally {
+                    lockChannel.close(); // снимает и блокировку каталога
+                }
+            }
+        }
+    }
+
+    static int recordSize(int moves) {
+        return 1 + 8 + 4 + 1 + moves * (4 + 2);
+    }
+
+    static Path segmentFile(Path directory, int number) {
+        return directory.resolve(String.format("journal-%06d%s", number, SEGMENT_SUFFIX));
+    }
+
+    // Номер сегмента по имени файла или -1, если это не сегмент журнала
+    static int segmentNumber(Path file) {
+        String name = file.getFileName().toString();
+        if (!name.startsWith("journal-") || !name.endsWith(SEGMENT_SUFFIX)) return -1;
+        try {
+            return Integer.parseInt(name.substring("journal-".length(), name.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (IOException e) {
+            logger.logError("Не удалось записать журнал игр", e);
+        }
+    }
+
+    // Забирает заполненные и непустые текущие буферы; новые записи пойдут в другие буферы
+    private synchronized List<Frame> takeFrames() {
+        flushRequested = false;
+        List<Frame> frames = new ArrayList<>(full);
+        full.clear();
+        for (Iterator<Map.Entry<Long, ByteBuffer>> it = pending.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<Long, ByteBuffer> entry = it.next();
+            if (entry.getValue().position() > 0) {
+                frames.add(new Frame(entry.getKey(), entry.getValue()));
+            }
+            it.remove();
+        }
+        return frames;
+    }
+
+    // Возвращает незаписанные кадры в начало очереди, сохраняя порядок записей
+    private synchronized void requeue(List<Frame> frames) {
+        for (int i = frames.size() - 1; i >= 0; i--) {
+            full.addFirst(frames.get(i));
+        }
+    }
+
+    private synchronized void recycle(List<Frame> frames) {
+        for (Frame frame : frames) {
+            frame.records.clear();
+            spare.add(frame.records);
+        }
+    }
+
+    // Буфер кадра не меняется, так что кадр можно записать повторно
+    private void writeFrame(Frame frame) throws IOException {
+        ByteBuffer records = frame.records.duplicate().flip();
+        ByteBuffer hash = ByteBuffer.allocate(8).order(ByteOrder.BIG_ENDIAN).putLong(0, frame.dictionaryHash);
+        crc.reset();
+        crc.update(hash.duplicate());
+        crc.update(records.duplicate());
+        ByteBuffer header = ByteBuffer.allocate(FRAME_HEADER_SIZE).order(ByteOrder.BIG_ENDIAN);
+        header.putInt(records.remaining()).putInt((int) crc.getValue()).putLong(frame.dictionaryHash).flip();
+
+        long frameSize = FRAME_HEADER_SIZE + records.remaining();
+        if (segment == null || segmentBytes + frameSize > maxSegmentBytes) {
+            openNextSegment();
+        }
+        while (header.hasRemaining() || records.hasRemaining()) {
+            segment.write(new ByteBuffer[]{header, records});
+        }
+        segmentBytes += frameSize;
+    }
+
+    // Закрывает сегмент после ошибки записи; ошибка закрытия уже не важна
+    private void abandonSegment() {
+        if (segment == null) return;
+        try {
+            segment.close();
+        } catch (IOException e) {
+            logger.logError("Не удалось закрыть сегмент журнала после ошибки записи", e);
+        }
+        segment = null;
+    }
+
+    private void openNextSegment() throws IOException {
+        if (segment != null) {
+            segment.close();
+            segment = null;
+        }
+        segmentNumber++;
+        segment = FileChannel.open(segmentFile(directory, segmentNumber),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.BIG_ENDIAN);
+        header.putInt(MAGIC).putInt(VERSION).putLong(0).flip();
+        while (header.hasRemaining()) {
+            segment.write(header);
+        }
+        segmentBytes = HEADER_SIZE;
+    }
+
+    // Записи одного словаря, готовые уйти на диск одним кадром
+    private static final class Frame {
+        final long dictionaryHash;
+        final ByteBuffer records;
+
+        Frame(long dictionaryHash, ByteBuffer records) {
+            this.dictionaryHash = dictionaryHash;
+            this.records = records;
+        }
+    }
+
+    // Блокирует каталог журнала для этого процесса; занятый каталог — JournalLockedException
+    private static FileChannel lockDirectory(Path directory) throws IOException {
+        FileChannel channel = FileChannel.open(directory.resolve(LOCK_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        FileLock lock;
+        try {
+            lock = channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            lock = null; // каталог уже открыт журналом в этом же процессе
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        if (lock == null) {
+            channel.close();
+            throw new JournalLockedException("Каталог журнала игр " + directory.toAbsolutePath()
+                    + " уже занят другим процессом или журналом; укажите другой каталог");
+        }
+        return channel;
+    }
+
+    private static int lastSegmentNumber(Path directory) throws IOException {
+        int last = 0;
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                last = Math.max(last, segmentNumber(file));
+            }
+        }
+        return last;
+    }
+}
@@ -0,0 +1,369 @@
+package ru.yandex.practicum;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/*
+Чтение журнала игр (см. GameJournal). Сегменты отображаются в память и проходятся по кадрам
+без разбора в объекты: для статистики каждая запись — несколько чтений из буфера.
+Кадр с неверной длиной или CRC (оборванная запись при падении) завершает чтение сегмента;
+кадры другого словаря (и сегменты версии 1 с другим словарём в заголовке) пропускаются.
+
+Запуск как команда: java ru.yandex.practicum.GameJournalReader <каталог журнала>
+                                                             [--dictionary=words_ru.txt] [--top=10]
+*/
+public class GameJournalReader {
+
+    private final Path directory;
+    private int corruptFrames;
+    private int skippedSegments;
+    private int skippedFrames;
+
+    public GameJournalReader(Path directory) {
+        this.directory = directory;
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.out.println("Использование: GameJournalReader <каталог журнала> [--dictionary=words_ru.txt] [--top=10] [--length=5]");
+            return;
+        }
+        String dictionaryFile = "words_ru.txt";
+        int top = 10;
+        int length = WordleDictionary.DEFAULT_WORD_LENGTH;
+        for (int i = 1; i < args.length; i++) {
+            String arg = args[i];
+            String value = arg.substring(arg.indexOf('=') + 1);
+            if (arg.startsWith("--dictionary=")) {
+                dictionaryFile = value;
+            } else if (arg.startsWith("--top=")) {
+                top = Integer.parseInt(value);
+            } else if (arg.startsWith("--length=")) {
+                length = Integer.parseInt(value);
+            } else {
+                System.out.println("Неизвестный параметр: " + arg);
+                return;
+            }
+        }
+
+        try {
+            WordleDictionary dictionary = new WordleDictionaryLoader(new Logger(new PrintWriter(System.out)))
+                    .load(dictionaryFile, length);
+            GameJournalReader reader = new GameJournalReader(Path.of(args[0]));
+            long start = System.nanoTime();
+            Statistics statistics = reader.statistics(dictionary);
+            long elapsed = System.nanoTime() - start;
+
+            System.out.print(statistics.format(dictionary, top));
+            System.out.printf("Прочитано за %.2f с; повреждённых кадров: %d, кадров другого словаря: %d, "
+                            + "пропущенных сегментов: %d%n",
+                    elapsed / 1e9, reader.getCorruptFrames(), reader.getSkippedFrames(), reader.getSkippedSegments());
+        } catch (DictionaryLoadException | IOException | IllegalArgumentException e) {
+            System.out.println("Не удалось прочитать журнал: " + e.getMessage());
+        }
+    }
+
+    // Сколько кадров было отброшено при последнем чтении из-за неверной длины или CRC
+    public int getCorruptFrames() {
+        return corruptFrames;
+    }
+
+    // Сколько сегментов при последнем чтении пропущено: версия 1 для другого словаря или неизвестный формат
+    public int getSkippedSegments() {
+        return skippedSegments;
+    }
+
+    // Сколько целых кадров при последнем чтении записаны для другого словаря
+    public int getSkippedFrames() {
+        return skippedFrames;
+    }
+
+    // Статистика по законченным играм журнала для словаря dictionary
+    public Statistics statistics(WordleDictionary dictionary) throws IOException {
+        Statistics statistics = new Statistics(dictionary.size());
+        scan(dictionary, (flags, gameId, answerIndex, moves, frame) -> {
+            if ((flags & GameJournal.FINISHED) != 0) {
+                statistics.add(answerIndex, moves, (flags & GameJournal.WON) != 0);
+            }
+        });
+        return statistics;
+    }
+
+    /*
+     Игры, последняя запись которых — незаконченная игра, в порядке начала.
+     Их можно восстановить через GameRecord.replay.
+     */
+    public List<GameRecord> unfinishedGames(WordleDictionary dictionary) throws IOException {
+        Map<Long, GameRecord> unfinished = new LinkedHashMap<>();
+        scan(dictionary, (flags, gameId, answerIndex, moves, frame) -> {
+            if ((flags & (GameJournal.FINISHED | GameJournal.ABANDONED)) != 0) {
+                unfinished.remove(gameId);
+                return;
+            }
+            int[] guesses = new int[moves];
+            int[] codes = new int[moves];
+            for (int i = 0; i < moves; i++) {
+                guesses[i] = frame.getInt();
+                codes[i] = frame.getShort() & 0xFFFF;
+            }
+            unfinished.put(gameId, new GameRecord(gameId, answerIndex, guesses, codes, flags));
+        });
+        return new ArrayList<>(unfinished.values());
+    }
+
+    /*
+     Хэши словарей (WordleDictionary.contentHash), игры на которых есть в журнале.
+     Записи не разбираются и CRC не проверяется: по хэшам решают, какие словари стоит
+     строить для statistics или unfinishedGames.
+     */
+    public Set<Long> dictionaryHashes() throws IOException {
+        Set<Long> hashes = new HashSet<>();
+        for (Path segment : segments()) {
+            ByteBuffer buffer = map(segment);
+            if (buffer.remaining() < GameJournal.HEADER_SIZE || buffer.getInt() != GameJournal.MAGIC) continue;
+            int version = buffer.getInt();
+            long segmentHash = buffer.getLong();
+            if (version == GameJournal.VERSION_SEGMENT_HASH) {
+                hashes.add(segmentHash);
+            } else if (version == GameJournal.VERSION) {
+                while (buffer.remaining() >= GameJournal.FRAME_HEADER_SIZE) {
+                    int length = buffer.getInt();
+                    buffer.getInt(); // CRC
+                    long frameHash = buffer.getLong();
+                    if (length <= 0 || length > GameJournal.MAX_FRAME_SIZE || length > buffer.remaining()) break;
+                    hashes.add(frameHash);
+                    buffer.position(buffer.position() + length);
+                }
+            }
+        }
+        return hashes;
+    }
+
+    /*
+     Получает записи журнала по порядку. Ходы записи лежат в frame начиная с его текущей позиции;
+     читать их не обязательно — следующая запись найдётся и без этого.
+     */
+    interface RecordVisitor {
+        void record(int flags, long gameId, int answerIndex, int moves, ByteBuffer frame);
+    }
+
+    private void scan(WordleDictionary dictionary, RecordVisitor visitor) throws IOException {
+        corruptFrames = 0;
+        skippedSegments = 0;
+        skippedFrames = 0;
+        CRC32 crc = new CRC32();
+        for (Path segment : segments()) {
+            ByteBuffer buffer = map(segment);
+            if (buffer.remaining() < GameJournal.HEADER_SIZE || buffer.getInt() != GameJournal.MAGIC) {
+                skippedSegments++;
+                continue;
+            }
+            int version = buffer.getInt();
+            long segmentHash = buffer.getLong();
+            if (version == GameJournal.VERSION) {
+                scanFrames(buffer, true, dictionary, crc, visitor);
+            } else if (version == GameJournal.VERSION_SEGMENT_HASH && segmentHash == dictionary.contentHash()) {
+                scanFrames(buffer, false, dictionary, crc, visitor);
+            } else {
+                skippedSegments++;
+            }
+        }
+    }
+
+    // Сегменты журнала по возрастанию номера
+    private List<Path> segments() throws IOException {
+        if (!Files.isDirectory(directory)) return List.of();
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(f -> GameJournal.segmentNumber(f) >= 0)
+                    .sorted(Comparator.comparingInt(GameJournal::segmentNumber))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static ByteBuffer map(Path segment) throws IOException {
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()).order(ByteOrder.BIG_ENDIAN);
+        }
+    }
+
+    // hashInFrames — формат версии 2: у каждого кадра свой хэш словаря, входящий в CRC
+    private void scanFrames(ByteBuffer buffer, boolean hashInFrames, WordleDictionary dictionary, CRC32 crc,
+                            RecordVisitor visitor) {
+        int headerSize = hashInFrames ? GameJournal.FRAME_HEADER_SIZE : GameJournal.FRAME_HEADER_SIZE_V1;
+        long dictionaryHash = dictionary.contentHash();
+        while (buffer.remaining() >= headerSize) {
+            int length = buffer.getInt();
+            int checksum = buffer.getInt();
+            crc.reset();
+            if (hashInFrames) {
+                crc.update(buffer.slice().limit(8));
+            }
+            long frameHash = hashInFrames ? buffer.getLong() : dictionaryHash;
+            if (length <= 0 || length > GameJournal.MAX_FRAME_SIZE || length > buffer.remaining()) {
+                corruptFrames++;
+                return;
+            }
+
+            ByteBuffer frame = buffer.slice().limit(length).order(ByteOrder.BIG_ENDIAN);
+            buffer.position(buffer.position() + length);
+            crc.update(frame.duplicate());
+            if ((int) crc.getValue() != checksum) {
+                corruptFrames++;
+                return;
+            }
+            if (frameHash != dictionaryHash) {
+                skippedFrames++;
+                continue;
+            }
+            if (!validFrame(frame.duplicate(), dictionary.size())) {
+                corruptFrames++;
+                return;
+            }
+
+            while (frame.hasRemaining()) {
+                int flags = frame.get();
+                long gameId = frame.getLong();
+                int answerIndex = frame.getInt();
+                int moves = frame.get();
+                int next = frame.position() + moves * (4 + 2);
+                visitor.record(flags, gameId, answerIndex, moves, frame);
+                frame.position(next);
+            }
+        }
+        if (buffer.hasRemaining()) {
+            corruptFrames++; // оборванный заголовок кадра
+        }
+    }
+
+    // Проверяет, что кадр с верной CRC целиком состоит из записей с допустимыми полями
+    private static boolean validFrame(ByteBuffer frame, int dictionarySize) {
+        while (frame.hasRemaining()) {
+            if (frame.remaining() < GameJournal.recordSize(0)) return false;
+            int flags = frame.get();
+            frame.getLong();
+            int answerIndex = frame.getInt();
+            int moves = frame.get();
+            if ((flags & GameJournal.WON) != 0 && moves == 0) return false;
+            if (answerIndex < 0 || answerIndex >= dictionarySize || moves < 0 || moves > WordleGame.MAX_STEPS
+                    || frame.remaining() < moves * (4 + 2)) {
+                return false;
+            }
+            for (int i = 0; i < moves; i++) {
+                int guess = frame.getInt();
+                frame.getShort();
+                if (guess < 0 || guess >= dictionarySize) return false;
+            }
+        }
+        return true;
+    }
+
+    /*
+     Итоги по законченным играм. distribution[k-1] — сколько игр выиграно за k ходов,
+     distribution[MAX_STEPS] — сколько проиграно (как в WordleSimulation.Report).
+     Для каждого загаданного слова — число игр, проигрышей и сумма ходов.
+     */
+    public static class Statistics {
+        private final long[] distribution = new long[WordleGame.MAX_STEPS + 1];
+        private final int[] plays;
+        private final int[] losses;
+        private final long[] moveSums;
+        private long games;
+
+        Statistics(int dictionarySize) {
+            this.plays = new int[dictionarySize];
+            this.losses = new int[dictionarySize];
+            this.moveSums = new long[dictionarySize];
+        }
+
+        void add(int answerIndex, int moves, boolean won) {
+            games++;
+            plays[answerIndex]++;
+            if (won) {
+                distribution[moves - 1]++;
+                moveSums[answerIndex] += moves;
+            } else {
+                distribution[WordleGame.MAX_STEPS]++;
+                losses[answerIndex]++;
+                moveSums[answerIndex] += WordleGame.MAX_STEPS + 1; // проигрыш считаем как лишний ход
+            }
+        }
+
+        public long getGames() {
+            return games;
+        }
+
+        public long getWins() {
+            return games - distribution[WordleGame.MAX_STEPS];
+        }
+
+        public double getWinRate() {
+            return games == 0 ? 0 : (double) getWins() / games;
+        }
+
+        public long[] getDistribution() {
+            return Arrays.copyOf(distribution, distribution.length);
+        }
+
+        // Средний ход победы; проигрыш считается за MAX_STEPS + 1 ход
+        public double getAverageMoves() {
+            long sum = Arrays.stream(moveSums).sum();
+            return games == 0 ? 0 : (double) sum / games;
+        }
+
+        /*
+         Индексы самых трудных слов: больше всего проигрышей на игру, затем больше всего ходов в среднем.
+         Слова, которые загадывались реже minPlays раз, не учитываются.
+         */
+        public int[] hardestWords(int top, int minPlays) {
+            return IntStream.range(0, plays.length)
+                    .filter(i -> plays[i] > 0 && plays[i] >= minPlays)
+                    .boxed()
+                    .sorted(Comparator.<Integer>comparingDouble(i -> (double) losses[i] / plays[i])
+                            .thenComparingDouble(i -> (double) moveSums[i] / plays[i])
+                            .reversed()
+                            .thenComparingInt(i -> i))
+                    .limit(top)
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+        }
+
+        public String format(WordleDictionary dictionary, int top) {
+            StringBuilder sb = new StringBuilder();
+            sb.append(String.format("Игр: %d, побед: %d (%.1f%%), в среднем ходов: %.3f%n",
+                    games, getWins(), getWinRate() * 100, getAverageMoves()));
+            sb.append("Распределение числа ходов:\n");
+            for (int k = 1; k <= WordleGame.MAX_STEPS; k++) {
+                sb.append(String.format("  %d: %d%n", k, distribution[k - 1]));
+            }
+            sb.append(String.format("  не угадано: %d%n", distribution[WordleGame.MAX_STEPS]));
+
+            int[] hardest = hardestWords(top, 1);
+            if (hardest.length > 0) {
+                sb.append("Самые трудные слова:\n");
+                for (int i : hardest) {
+                    sb.append(String.format("  %s: игр %d, проигрышей %d, в среднем ходов %.2f%n",
+                            dictionary.wordAt(i), plays[i], losses[i], (double) moveSums[i] / plays[i]));
+                }
+            }
+            return sb.toString();
+        }
+    }
+}
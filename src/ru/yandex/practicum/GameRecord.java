@@ -0,0 +1,62 @@
+package ru.yandex.practicum;
+
+import java.util.Arrays;
+
+/*
+Последний записанный в журнал снимок игры (см. GameJournal): загаданное слово, ходы и коды подсказок.
+По снимку незаконченной игры replay() восстанавливает WordleGame в том же состоянии.
+*/
+public final class GameRecord {
+
+    private final long gameId;
+    private final int answerIndex;
+    private final int[] guesses;
+    private final int[] codes;
+    private final int flags;
+
+    GameRecord(long gameId, int answerIndex, int[] guesses, int[] codes, int flags) {
+        this.gameId = gameId;
+        this.answerIndex = answerIndex;
+        this.guesses = guesses;
+        this.codes = codes;
+        this.flags = flags;
+    }
+
+    public long getGameId() {
+        return gameId;
+    }
+
+    public int getAnswerIndex() {
+        return answerIndex;
+    }
+
+    public int getGuessCount() {
+        return guesses.length;
+    }
+
+    public int[] getGuesses() {
+        return Arrays.copyOf(guesses, guesses.length);
+    }
+
+    public int[] getCodes() {
+        return Arrays.copyOf(codes, codes.length);
+    }
+
+    public boolean isFinished() {
+        return (flags & GameJournal.FINISHED) != 0;
+    }
+
+    public boolean isWon() {
+        return (flags & GameJournal.WON) != 0;
+    }
+
+    /*
+     Восстанавливает игру: загадывает то же слово и повторяет записанные ходы.
+     Если подсказки не совпадают с записанными (журнал от другого словаря), бросает IllegalStateException.
+     */
+    public WordleGame replay(WordleDictionary dictionary, Logger logger, ClueMatrix clueMatrix,
+                             SuggestionStrategy strategy, SuggestionCache suggestionCache) {
+        return WordleGame.replay(dictionary, logger, clueMatrix, strategy, suggestionCache,
+                answerIndex, guesses, codes, guesses.length);
+    }
+}
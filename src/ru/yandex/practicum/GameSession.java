@@ -0,0 +1,81 @@
+package ru.yandex.practicum;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/*
+Сессия одного игрока: идентификатор, игра и время последнего обращения.
+WordleGame не потокобезопасна, поэтому все действия с игрой выполняются под блокировкой сессии.
+Это ReentrantLock, а не synchronized: подсказка может считаться секунды, а виртуальный поток,
+ждущий или держащий монитор, занимает поток-носитель (JDK 21); на ReentrantLock он отпускает носитель.
+Если у реестра есть журнал игр, после каждого хода в него пишется снимок игры.
+*/
+public class GameSession {
+
+    private final long gameId;
+    private final String id;
+    private final WordleGame game;
+    private final GameJournal journal; // может быть null
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile long lastAccessNanos;
+
+    GameSession(long gameId, WordleGame game, GameJournal journal) {
+        this.gameId = gameId;
+        this.id = Long.toHexString(gameId);
+        this.game = game;
+        this.journal = journal;
+        this.lastAccessNanos = System.nanoTime();
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    long getGameId() {
+        return gameId;
+    }
+
+    long getLastAccessNanos() {
+        return lastAccessNanos;
+    }
+
+    // Выполняет действие с игрой под блокировкой сессии и отмечает обращение
+    public <T> T withGame(Function<WordleGame, T> action) {
+        lock.lock();
+        try {
+            lastAccessNanos = System.nanoTime();
+            int moves = game.getGuessCount();
+            try {
+                return action.apply(game);
+            } finally {
+                if (journal != null && game.getGuessCount() != moves) {
+                    journal.append(gameId, game);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Записывает в журнал начало игры
+    void journalStart() {
+        if (journal == null) return;
+        lock.lock();
+        try {
+            journal.append(gameId, game);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Записывает в журнал, что сессия удалена: незаконченную игру восстанавливать не нужно
+    void journalRemoved() {
+        if (journal == null) return;
+        lock.lock();
+        try {
+            journal.appendAbandoned(gameId, game);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
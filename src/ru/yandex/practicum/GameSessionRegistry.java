@@ -0,0 +1,290 @@
+package ru.yandex.practicum;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/*
+Реестр игровых сессий. Все сессии используют один неизменяемый словарь и одну таблицу подсказок,
+так что на сессию приходится только состояние игры: множество кандидатов (бит на слово)
+и история из нескольких int — около 0,8 КБ для словаря в 4143 слова.
+Сессии без обращений дольше idleTimeout удаляются фоновой задачей, запущенной start()
+(без неё — только когда мест не осталось); число живых сессий ограничено maxSessions.
+Со словарём из DictionaryProvider новые игры берут текущий снимок словаря, а начатые доигрываются
+на своём; длину слов можно выбрать для каждой игры (create(wordLength)) из длин, которые есть в файле.
+Кэш подсказок привязан к словарю, поэтому для каждой длины нового снимка заводится свой кэш.
+С журналом игр (setJournal) ходы всех сессий пишутся в GameJournal, а после падения процесса
+незаконченные игры восстанавливаются из журнала через restore().
+*/
+public class GameSessionRegistry implements AutoCloseable {
+
+    private final DictionaryProvider provider;  // null — словарь не меняется
+    private final int cacheSize;                // размер кэша подсказок для нового снимка, 0 — без кэша
+    private volatile Generation generation;
+    private final SuggestionStrategy strategy;
+    private final Logger logger;
+    private final int maxSessions;
+    private final long idleTimeoutNanos;
+    private volatile GameJournal journal;        // null — без журнала
+
+    private final ConcurrentMap<String, GameSession> sessions = new ConcurrentHashMap<>();
+    private final AtomicInteger liveSessions = new AtomicInteger();
+    private final ScheduledExecutorService evictor;
+    private boolean evictionStarted;
+
+    public GameSessionRegistry(WordleDictionary dictionary, ClueMatrix clueMatrix, SuggestionStrategy strategy,
+                               Logger logger, int maxSessions, long idleTimeoutMillis) {
+        this(dictionary, clueMatrix, strategy, null, logger, maxSessions, idleTimeoutMillis);
+    }
+
+    // suggestionCache — общий для всех сессий кэш подсказок или null
+    public GameSessionRegistry(WordleDictionary dictionary, ClueMatrix clueMatrix, SuggestionStrategy strategy,
+                               SuggestionCache suggestionCache, Logger logger, int maxSessions,
+                               long idleTimeoutMillis) {
+        this(null, new Generation(new DictionarySnapshot(dictionary, clueMatrix, 1, 0), suggestionCache, 0), 0,
+                strategy, logger, maxSessions, idleTimeoutMillis);
+    }
+
+    /*
+     Словарь берётся из provider при создании каждой игры.
+     cacheSize — размер кэша подсказок для каждой длины каждого снимка словаря, 0 — без кэша.
+     */
+    public GameSessionRegistry(DictionaryProvider provider, SuggestionStrategy strategy, int cacheSize,
+                               Logger logger, int maxSessions, long idleTimeoutMillis) {
+        this(provider, null, cacheSize, strategy, logger, maxSessions, idleTimeoutMillis);
+    }
+
+    private GameSessionRegistry(DictionaryProvider provider, Generation generation, int cacheSize,
+                                SuggestionStrategy strategy, Logger logger, int maxSessions, long idleTimeoutMillis) {
+        if (maxSessions <= 0 || idleTimeoutMillis <= 0) {
+            throw new IllegalArgumentException("maxSessions и idleTimeoutMillis должны быть положительными");
+        }
+        if (cacheSize < 0) {
+            throw new IllegalArgumentException("cacheSize не может быть отрицательным: " + cacheSize);
+        }
+        this.provider = provider;
+        this.cacheSize = cacheSize;
+        this.generation = generation;
+        this.strategy = strategy;
+        this.logger = logger;
+        this.maxSessions = maxSessions;
+        this.idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMillis);
+
+        this.evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "wordle-session-evictor");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    // Запускает фоновое удаление простаивающих сессий
+    public synchronized void start() {
+        if (evictionStarted) return;
+        evictionStarted = true;
+        long period = Math.max(1, TimeUnit.NANOSECONDS.toMillis(idleTimeoutNanos) / 2);
+        evictor.scheduleAtFixedRate(this::evictIdle, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    // Создаёт сессию с новой игрой на словаре длины по умолчанию
+    public GameSession create() {
+        return create(getSnapshot().getDefaultLength());
+    }
+
+    /*
+     Создаёт сессию с новой игрой на словах длины wordLength; если мест нет даже после удаления
+     простаивающих — SessionLimitException, если слов такой длины нет — IllegalArgumentException.
+     Словарь и таблица подсказок длины строятся при первой игре на ней.
+     */
+    public GameSession create(int wordLength) {
+        if (!reserveSlot()) {
+            evictIdle();
+            if (!reserveSlot()) {
+                throw new SessionLimitException("Достигнуто максимальное число игр: " + maxSessions);
+            }
+        }
+
+        try {
+            Generation current = currentGeneration();
+            DictionarySnapshot snapshot = current.snapshot;
+            WordleDictionary dictionary = snapshot.getDictionary(wordLength);
+            WordleGame game = new WordleGame(dictionary, logger, snapshot.getClueMatrix(wordLength), strategy,
+                    -1, current.suggestionCache(dictionary));
+            while (true) {
+                long gameId = ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE;
+                GameSession session = new GameSession(gameId, game, journal);
+                if (sessions.putIfAbsent(session.getId(), session) == null) {
+                    session.journalStart();
+                    return session;
+                }
+            }
+        } catch (RuntimeException e) {
+            liveSessions.decrementAndGet();
+            throw e;
+        }
+    }
+
+    public GameSession get(String id) {
+        GameSession session = sessions.get(id);
+        if (session == null) {
+            throw new SessionNotFoundException("Игра не найдена: " + id);
+        }
+        return session;
+    }
+
+    public boolean remove(String id) {
+        GameSession session = sessions.remove(id);
+        if (session != null) {
+            liveSessions.decrementAndGet();
+            session.journalRemoved();
+            return true;
+        }
+        return false;
+    }
+
+    /*
+     Журнал, в который пишутся ходы сессий, созданных после вызова; null — не вести журнал.
+     Закрывает журнал тот, кто его открыл.
+     */
+    public void setJournal(GameJournal journal) {
+        this.journal = journal;
+    }
+
+    /*
+     Восстанавливает незаконченные игры журнала reader с прежними идентификаторами.
+     Восстанавливаются только игры на словарях текущего снимка (любой длины) и не больше свободных мест;
+     игры, которые не удалось повторить, пропускаются с записью в лог. Возвращает число восстановленных.
+     Если журнал уже задан через setJournal, восстановленные игры сразу пишутся в его новый сегмент.
+     */
+    public int restore(GameJournalReader reader) throws IOException {
+        Generation current = currentGeneration();
+        DictionarySnapshot snapshot = current.snapshot;
+        Set<Long> journalled = reader.dictionaryHashes();
+        int restored = 0;
+
+        for (int wordLength : snapshot.getWordLengths()) {
+            WordleDictionary dictionary = snapshot.getDictionary(wordLength);
+            if (!journalled.contains(dictionary.contentHash())) continue; // таблицу подсказок зря не строим
+
+            for (GameRecord record : reader.unfinishedGames(dictionary)) {
+                if (!reserveSlot()) return restored;
+                try {
+                    WordleGame game = record.replay(dictionary, logger, snapshot.getClueMatrix(wordLength),
+                            strategy, current.suggestionCache(dictionary));
+                    GameSession session = new GameSession(record.getGameId(), game, journal);
+                    if (sessions.putIfAbsent(session.getId(), session) == null) {
+                        session.journalStart();
+                        restored++;
+                        continue;
+                    }
+                } catch (RuntimeException e) {
+                    logger.logError("Не удалось восстановить игру " + Long.toHexString(record.getGameId()), e);
+                }
+                liveSessions.decrementAndGet();
+            }
+        }
+        return restored;
+    }
+
+    public int size() {
+        return liveSessions.get();
+    }
+
+    // Снимок словаря, на котором создаются новые игры
+    public DictionarySnapshot getSnapshot() {
+        return currentGeneration().snapshot;
+    }
+
+    public WordleDictionary getDictionary() {
+        return getSnapshot().getDictionary();
+    }
+
+    // Кэш подсказок длины по умолчанию текущего снимка или null, если он не используется
+    public SuggestionCache getSuggestionCache() {
+        return getSuggestionCache(getSnapshot().getDefaultLength());
+    }
+
+    // Кэш подсказок длины wordLength текущего снимка или null, если он не используется или в неё ещё не играли
+    public SuggestionCache getSuggestionCache(int wordLength) {
+        WordleDictionary.checkWordLength(wordLength);
+        return currentGeneration().suggestionCaches.get(wordLength);
+    }
+
+    // Источник словаря или null, если словарь задан раз и навсегда
+    public DictionaryProvider getProvider() {
+        return provider;
+    }
+
+    // Удаляет сессии, к которым не обращались дольше idleTimeout; возвращает число удалённых
+    public int evictIdle() {
+        long now = System.nanoTime();
+        int evicted = 0;
+        for (GameSession session : sessions.values()) {
+            if (now - session.getLastAccessNanos() > idleTimeoutNanos && sessions.remove(session.getId(), session)) {
+                liveSessions.decrementAndGet();
+                session.journalRemoved();
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    @Override
+    public void close() {
+        evictor.shutdownNow();
+    }
+
+    // Снимок словаря и его кэши подсказок; при смене снимка у provider заводится новое поколение
+    private Generation currentGeneration() {
+        Generation g = generation;
+        if (provider == null) return g;
+
+        DictionarySnapshot snapshot = provider.current();
+        if (g != null && g.snapshot == snapshot) return g;
+        synchronized (this) {
+            g = generation;
+            if (g == null || g.snapshot != snapshot) {
+                g = new Generation(snapshot, null, cacheSize);
+                generation = g;
+            }
+            return g;
+        }
+    }
+
+    private static final class Generation {
+        final DictionarySnapshot snapshot;
+        final AtomicReferenceArray<SuggestionCache> suggestionCaches =
+                new AtomicReferenceArray<>(WordleDictionary.MAX_WORD_LENGTH + 1);
+        private final int cacheSize;
+
+        // defaultCache — готовый кэш для длины по умолчанию; кэши остальных длин (размера cacheSize) — по требованию
+        Generation(DictionarySnapshot snapshot, SuggestionCache defaultCache, int cacheSize) {
+            this.snapshot = snapshot;
+            this.cacheSize = cacheSize;
+            suggestionCaches.set(snapshot.getDefaultLength(), defaultCache);
+        }
+
+        // Кэш подсказок словаря снимка; создаётся при первой игре его длины
+        SuggestionCache suggestionCache(WordleDictionary dictionary) {
+            int wordLength = dictionary.getWordLength();
+            SuggestionCache cache = suggestionCaches.get(wordLength);
+            if (cache != null || cacheSize == 0) return cache;
+            suggestionCaches.compareAndSet(wordLength, null, new SuggestionCache(dictionary, cacheSize));
+            return suggestionCaches.get(wordLength);
+        }
+    }
+
+    private boolean reserveSlot() {
+        while (true) {
+            int current = liveSessions.get();
+            if (current >= maxSessions) return false;
+            if (liveSessions.compareAndSet(current, current + 1)) return true;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package ru.yandex.practicum;
+
+/*
+Проверка слова-попытки и метрики ходов, общие для WordleGame и MultiBoardGame,
+чтобы правила проверки и счётчики у одной доски и у нескольких не расходились.
+*/
+final class GuessValidator {
+
+    private GuessValidator() {
+    }
+
+    /*
+     Индекс слова guess в словаре; слово не той длины или не из словаря отвергается исключением.
+     Время проверки записывается и для отвергнутых слов.
+     */
+    static int indexOf(WordleDictionary dictionary, String guess) {
+        long start = Metrics.start();
+        try {
+            int length = dictionary.getWordLength();
+            if (guess == null || guess.length() != length) {
+                Metrics.count(Metrics.GUESSES_INVALID);
+                throw new InvalidWordException("Слово должно состоять из " + length + " букв.");
+            }
+
+            int guessIndex = dictionary.indexOf(guess);
+            if (guessIndex < 0) {
+                Metrics.count(Metrics.GUESSES_NOT_IN_DICTIONARY);
+                throw new WordNotFoundInDictionaryException("Слово отсутствует в словаре.");
+            }
+            return guessIndex;
+        } finally {
+            Metrics.stop(Metrics.GUESS_VALIDATION, start);
+        }
+    }
+
+    // Ход по индексу: индекс должен указывать на слово словаря
+    static void checkIndex(WordleDictionary dictionary, int guessIndex) {
+        if (guessIndex < 0 || guessIndex >= dictionary.size()) {
+            Metrics.count(Metrics.GUESSES_NOT_IN_DICTIONARY);
+            throw new WordNotFoundInDictionaryException("Слово отсутствует в словаре.");
+        }
+    }
+
+    // Ход принят (один раз на ход, сколько бы досок он ни проверял)
+    static void accepted() {
+        Metrics.count(Metrics.GUESSES);
+    }
+}
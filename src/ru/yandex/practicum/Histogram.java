@@ -0,0 +1,138 @@
+package ru.yandex.practicum;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+Гистограмма неотрицательных значений (времена в наносекундах, размеры) в духе HdrHistogram:
+каждая степень двойки делится на SUB_BUCKETS равных корзин, так что относительная ошибка
+процентиля не больше 1/SUB_BUCKETS (~3%) на всём диапазоне, а памяти нужно около 10 КБ.
+Запись без блокировок — инкремент счётчика корзины, так что писать можно из многих потоков;
+snapshot() копирует счётчики и может немного расходиться с записями, идущими в это время.
+*/
+public final class Histogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_BITS = 44; // значения от 2^44 (~4,9 часа в наносекундах) попадают в последнюю корзину
+    private static final int BUCKETS = (MAX_BITS - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final String name;
+    private final boolean nanos;
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    // nanos — значения это времена в наносекундах (влияет только на текстовый вывод)
+    public Histogram(String name, boolean nanos) {
+        this.name = name;
+        this.nanos = nanos;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void record(long value) {
+        if (value < 0) value = 0;
+        counts.incrementAndGet(bucketOf(value));
+        sum.add(value);
+        max.accumulate(value);
+    }
+
+    public Snapshot snapshot() {
+        long[] copy = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = counts.get(i);
+            count += copy[i];
+        }
+        return new Snapshot(name, nanos, copy, count, sum.sum(), max.get());
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0);
+        }
+        sum.reset();
+        max.reset();
+    }
+
+    // Значения меньше SUB_BUCKETS — каждое в своей корзине, дальше — SUB_BUCKETS корзин на степень двойки
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) return (int) value;
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        if (exponent >= MAX_BITS) return BUCKETS - 1;
+        int shift = exponent - SUB_BUCKET_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int) (value >>> shift) - SUB_BUCKETS;
+    }
+
+    // Наибольшее значение, попадающее в корзину
+    static long upperBound(int bucket) {
+        if (bucket < SUB_BUCKETS) return bucket;
+        int shift = bucket / SUB_BUCKETS - 1;
+        long lower = (long) (bucket % SUB_BUCKETS + SUB_BUCKETS) << shift;
+        return lower + (1L << shift) - 1;
+    }
+
+    // Неизменяемая копия гистограммы на момент snapshot()
+    public static final class Snapshot {
+        private final String name;
+        private final boolean nanos;
+        private final long[] counts;
+        private final long count;
+        private final long sum;
+        private final long max;
+
+        private Snapshot(String name, boolean nanos, long[] counts, long count, long sum, long max) {
+            this.name = name;
+            this.nanos = nanos;
+            this.counts = counts;
+            this.count = count;
+            this.sum = sum;
+            this.max = max;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getMax() {
+            return max;
+        }
+
+        public double getMean() {
+            return count == 0 ? 0 : (double) sum / count;
+        }
+
+        // Значение, не меньше которого p процентов записей (с точностью до корзины), 0 для пустой гистограммы
+        public long percentile(double p) {
+            if (count == 0) return 0;
+            long rank = Math.max(1, (long) Math.ceil(p / 100 * count));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.min(upperBound(i), max);
+                }
+            }
+            return max;
+        }
+
+        // Одна строка: число записей, среднее, p50/p90/p99/p99.9 и максимум; времена — в микросекундах
+        public String format() {
+            return String.format("%s: count=%d mean=%s p50=%s p90=%s p99=%s p99.9=%s max=%s",
+                    name, count, value(getMean()), value(percentile(50)), value(percentile(90)),
+                    value(percentile(99)), value(percentile(99.9)), value(max));
+        }
+
+        private String value(double v) {
+            return nanos ? String.format("%.1fмкс", v / 1000) : String.format("%.1f", v);
+        }
+    }
+}
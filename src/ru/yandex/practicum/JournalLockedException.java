@@ -0,0 +1,9 @@
+package ru.yandex.practicum;
+
+import java.io.IOException;
+
+public class JournalLockedException extends IOException {
+    public JournalLockedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,151 @@
+package ru.yandex.practicum;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+Инвертированный индекс словаря по буквам.
+Для каждой позиции и каждой буквы хранится множество слов с этой буквой на этой позиции,
+а для каждой буквы и k — множество слов, где буква встречается не меньше k раз.
+Любые ограничения (шаблон, обязательные и запрещённые буквы, история подсказок)
+сводятся к пересечениям и разностям битовых множеств без вызова computeClue для каждого слова.
+*/
+public class LetterIndex {
+
+    private final WordleDictionary dictionary;
+    private final int wordLength;
+    private final WordBitSet[][] byPosition; // [позиция][буква]
+    private final WordBitSet[][] atLeast;    // [k][буква], k = 1..wordLength
+
+    LetterIndex(WordleDictionary dictionary) {
+        this.dictionary = dictionary;
+        this.wordLength = dictionary.getWordLength();
+
+        int n = dictionary.size();
+        int alphabet = WordleDictionary.ALPHABET_SIZE;
+        this.byPosition = new WordBitSet[wordLength][alphabet];
+        this.atLeast = new WordBitSet[wordLength + 1][alphabet];
+
+        for (int p = 0; p < wordLength; p++) {
+            for (int c = 0; c < alphabet; c++) {
+                byPosition[p][c] = new WordBitSet(n);
+            }
+        }
+        for (int k = 1; k <= wordLength; k++) {
+            for (int c = 0; c < alphabet; c++) {
+                atLeast[k][c] = new WordBitSet(n);
+            }
+        }
+
+        int[] counts = new int[alphabet];
+        for (int w = 0; w < n; w++) {
+            long word = dictionary.packedAt(w);
+            for (int p = 0; p < wordLength; p++) {
+                int c = PackedWord.letterAt(word, p);
+                byPosition[p][c].set(w);
+                atLeast[++counts[c]][c].set(w);
+            }
+            for (int p = 0; p < wordLength; p++) {
+                counts[PackedWord.letterAt(word, p)] = 0;
+            }
+        }
+    }
+
+    /*
+     Слова, подходящие под шаблон и ограничения по буквам.
+     pattern — строка длины слова, '?' означает любую букву, например "с?о??";
+     required — буквы, которые должны встретиться (повтор буквы требует нескольких вхождений);
+     excluded — буквы, которых не должно быть в слове.
+     */
+    public WordBitSet match(String pattern, String required, String excluded) {
+        String normalizedPattern = WordleDictionary.normalizeWord(pattern);
+        if (normalizedPattern.length() != wordLength) {
+            throw new IllegalArgumentException("Шаблон должен состоять из " + wordLength + " символов: " + pattern);
+        }
+
+        WordBitSet result = WordBitSet.full(dictionary.size());
+
+        for (int p = 0; p < wordLength; p++) {
+            char ch = normalizedPattern.charAt(p);
+            if (ch != '?') {
+                result.and(byPosition[p][code(ch)]);
+            }
+        }
+
+        int[] counts = new int[WordleDictionary.ALPHABET_SIZE];
+        for (char ch : WordleDictionary.normalizeWord(required).toCharArray()) {
+            counts[code(ch)]++;
+        }
+        for (int c = 0; c < counts.length; c++) {
+            if (counts[c] > wordLength) return new WordBitSet(dictionary.size());
+            if (counts[c] > 0) {
+                result.and(atLeast[counts[c]][c]);
+            }
+        }
+
+        for (char ch : WordleDictionary.normalizeWord(excluded).toCharArray()) {
+            result.andNot(atLeast[1][code(ch)]);
+        }
+        return result;
+    }
+
+    // То же, что match, но возвращает сами слова в порядке словаря
+    public List<String> find(String pattern, String required, String excluded) {
+        WordBitSet set = match(pattern, required, excluded);
+        List<String> res = new ArrayList<>();
+        for (int i = set.nextSetBit(0); i >= 0; i = set.nextSetBit(i + 1)) {
+            res.add(dictionary.wordAt(i));
+        }
+        return res;
+    }
+
+    /*
+     Оставляет в candidates только слова, которые на упакованную попытку guess дали бы подсказку code.
+     "+" на позиции — буква там обязана быть; "^" и "-" — буквы там быть не должно.
+     Число "+" и "^" для буквы задаёт минимум её вхождений, а "-" той же буквы
+     делает этот минимум точным (буквы нет вовсе, если "+" и "^" для неё не было).
+     */
+    public void applyClue(WordBitSet candidates, long guess, int code) {
+        int[] marked = new int[WordleDictionary.ALPHABET_SIZE];
+        int letters = 0; // маска букв, встретившихся в попытке
+        int absent = 0;  // маска букв, получивших хотя бы один "-"
+
+        for (int p = 0; p < wordLength; p++) {
+            int c = PackedWord.letterAt(guess, p);
+            int digit = WordleClue.digitAt(code, p);
+            letters |= 1 << c;
+
+            if (digit == WordleClue.CORRECT) {
+                candidates.and(byPosition[p][c]);
+                marked[c]++;
+            } else {
+                candidates.andNot(byPosition[p][c]);
+                if (digit == WordleClue.PRESENT) {
+                    marked[c]++;
+                } else {
+                    absent |= 1 << c;
+                }
+            }
+        }
+
+        for (int c = 0; c < marked.length; c++) {
+            if ((letters & (1 << c)) == 0) continue;
+
+            int k = marked[c];
+            if (k > 0) {
+                candidates.and(atLeast[k][c]);
+            }
+            if ((absent & (1 << c)) != 0 && k + 1 <= wordLength) {
+                candidates.andNot(atLeast[k + 1][c]);
+            }
+        }
+    }
+
+    private static int code(char ch) {
+        int c = WordleDictionary.letterCode(ch);
+        if (c < 0) {
+            throw new IllegalArgumentException("Недопустимая буква: " + ch);
+        }
+        return c;
+    }
+}
@@ -0,0 +1,189 @@
+package ru.yandex.practicum;
+
+import java.io.PrintWriter;
+
+/*
+Событие лога. Вызывающий код создаёт событие с "сырыми" данными (индексы слов, коды подсказок, числа),
+а строка для файла собирается в writeTo — в асинхронном режиме это происходит уже в потоке записи.
+*/
+public abstract class LogEvent {
+
+    public enum Type {
+        MESSAGE,
+        ERROR,
+        GUESS,
+        HINT,
+        DICTIONARY_LOADED,
+        DICTIONARY_BUILT
+    }
+
+    private LogEvent() {
+    }
+
+    public abstract Type getType();
+
+    // Форматирует событие и пишет его в лог
+    public abstract void writeTo(PrintWriter out);
+
+    // Произвольное текстовое сообщение
+    public static final class Message extends LogEvent {
+        private final String text;
+
+        public Message(String text) {
+            this.text = text;
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        @Override
+        public Type getType() {
+            return Type.MESSAGE;
+        }
+
+        @Override
+        public void writeTo(PrintWriter out) {
+            out.println(text);
+        }
+    }
+
+    // Сообщение об ошибке со стеком исключения
+    public static final class Failure extends LogEvent {
+        private final String text;
+        private final Throwable cause;
+
+        public Failure(String text, Throwable cause) {
+            this.text = text;
+            this.cause = cause;
+        }
+
+        public Throwable getCause() {
+            return cause;
+        }
+
+        @Override
+        public Type getType() {
+            return Type.ERROR;
+        }
+
+        @Override
+        public void writeTo(PrintWriter out) {
+            out.println(text);
+            cause.printStackTrace(out);
+        }
+    }
+
+    // Ход: слово, полученная подсказка и число оставшихся попыток
+    public static final class Guess extends LogEvent {
+        private final WordleDictionary dictionary;
+        private final int guessIndex;
+        private final int clueCode;
+        private final int remainingSteps;
+
+        public Guess(WordleDictionary dictionary, int guessIndex, int clueCode, int remainingSteps) {
+            this.dictionary = dictionary;
+            this.guessIndex = guessIndex;
+            this.clueCode = clueCode;
+            this.remainingSteps = remainingSteps;
+        }
+
+        public int getGuessIndex() {
+            return guessIndex;
+        }
+
+        public int getClueCode() {
+            return clueCode;
+        }
+
+        public int getRemainingSteps() {
+            return remainingSteps;
+        }
+
+        @Override
+        public Type getType() {
+            return Type.GUESS;
+        }
+
+        @Override
+        public void writeTo(PrintWriter out) {
+            out.println("Ход: " + dictionary.wordAt(guessIndex) + " -> "
+                    + WordleClue.decode(clueCode, dictionary.getWordLength()) + ". Осталось: " + remainingSteps);
+        }
+    }
+
+    // Подсказка компьютера; индекс -1 означает, что подходящего слова нет
+    public static final class Hint extends LogEvent {
+        private final WordleDictionary dictionary;
+        private final int wordIndex;
+
+        public Hint(WordleDictionary dictionary, int wordIndex) {
+            this.dictionary = dictionary;
+            this.wordIndex = wordIndex;
+        }
+
+        public int getWordIndex() {
+            return wordIndex;
+        }
+
+        @Override
+        public Type getType() {
+            return Type.HINT;
+        }
+
+        @Override
+        public void writeTo(PrintWriter out) {
+            if (wordIndex >= 0) {
+                out.println("Подсказка: " + dictionary.wordAt(wordIndex));
+            } else {
+                out.println("Подсказка не найдена");
+            }
+        }
+    }
+
+    // Файл словаря прочитан: сколько непустых строк в нём было
+    public static final class DictionaryLoaded extends LogEvent {
+        private final int lines;
+
+        public DictionaryLoaded(int lines) {
+            this.lines = lines;
+        }
+
+        public int getLines() {
+            return lines;
+        }
+
+        @Override
+        public Type getType() {
+            return Type.DICTIONARY_LOADED;
+        }
+
+        @Override
+        public void writeTo(PrintWriter out) {
+            out.println("Словарь загружен. Всего строк: " + lines);
+        }
+    }
+
+    // Игровой словарь сформирован: сколько слов в него вошло
+    public static final class DictionaryBuilt extends LogEvent {
+        private final int words;
+
+        public DictionaryBuilt(int words) {
+            this.words = words;
+        }
+
+        public int getWords() {
+            return words;
+        }
+
+        @Override
+        public Type getType() {
+            return Type.DICTIONARY_BUILT;
+        }
+
+        @Override
+        public void writeTo(PrintWriter out) {
+            out.println("Игровой словарь сформирован: " + words + " слов");
+        }
+    }
+}
@@ -1,28 +1,51 @@
 package ru.yandex.practicum;
 
 import java.io.PrintWriter;
+import java.io.Writer;
 
 /*
  * Простой логгер, который пишет сообщения в файл.
  * Используется для отладки игровой логики.
+ * Пишет синхронно: каждое событие сразу форматируется и сбрасывается на диск.
+ * Для потоков событий, где это слишком дорого, есть AsyncLogger.
  */
 
-public class Logger {
-    private final PrintWriter writer;
+public class Logger implements AutoCloseable {
+    protected final PrintWriter writer;
 
     public Logger(PrintWriter writer) {
         this.writer = writer;
     }
 
+    // Логгер, который отбрасывает события, не форматируя их; нужен для массовых прогонов игр
+    public static Logger discarding() {
+        return new Logger(new PrintWriter(Writer.nullWriter())) {
+            @Override
+            public void log(LogEvent event) {
+            }
+        };
+    }
+
     // Записывает сообщение в лог
     public void log(String message) {
-        writer.println(message);
-        writer.flush();
+        log(new LogEvent.Message(message));
     }
 
     public void logError(String message, Throwable t) {
-        log(message);
-        t.printStackTrace(writer);
+        log(new LogEvent.Failure(message, t));
+    }
+
+    // Записывает типизированное событие в лог
+    public void log(LogEvent event) {
+        synchronized (writer) {
+            event.writeTo(writer);
+            writer.flush();
+        }
+    }
+
+    // Сам writer не закрывается: им владеет тот, кто его создал
+    @Override
+    public void close() {
         writer.flush();
     }
 }
@@ -0,0 +1,28 @@
+package ru.yandex.practicum;
+
+/*
+Выбирает слово с максимальной ожидаемой информацией (энтропией распределения подсказок).
+Энтропия равна log2(n) - Σ c·log2(c) / n, поэтому достаточно минимизировать Σ c·log2(c).
+На нескольких досках складываются Σ c·log2(c) / n — ожидаемые логарифмы числа оставшихся кандидатов.
+*/
+public class MaxInformationStrategy extends ScoringStrategy {
+
+    public MaxInformationStrategy(long budgetMillis) {
+        super(budgetMillis);
+    }
+
+    @Override
+    protected double score(int[] buckets, int[] touched, int touchedCount, int total) {
+        double sum = 0;
+        for (int i = 0; i < touchedCount; i++) {
+            int c = buckets[touched[i]];
+            sum += c * Math.log(c);
+        }
+        return sum;
+    }
+
+    @Override
+    protected double boardScore(int[] buckets, int[] touched, int touchedCount, int total) {
+        return score(buckets, touched, touchedCount, total) / total;
+    }
+}
@@ -0,0 +1,212 @@
+package ru.yandex.practicum;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/*
+Встроенные метрики горячих путей: счётчики и гистограммы времени (см. Histogram) для фаз загрузки
+словаря, проверки хода, числа вычисленных подсказок и времени подсказки стратегии.
+Метрики выключены по умолчанию; включаются параметром JVM -Dwordle.metrics=true или setEnabled(true).
+В выключенном состоянии каждая точка замера — одно чтение volatile-поля и ветвление,
+поэтому замеры остаются в коде всегда. Во включённом — LongAdder или инкремент корзины
+гистограммы без блокировок, плюс System.nanoTime() для времён.
+
+Снимок всех метрик — snapshot(), текстовый вид — format(); every() отдаёт снимки периодически.
+Значения накапливаются с момента запуска или reset().
+*/
+public final class Metrics {
+
+    private static volatile boolean enabled = Boolean.getBoolean("wordle.metrics");
+
+    private static final Map<String, LongAdder> COUNTERS = new LinkedHashMap<>();
+    private static final List<Histogram> HISTOGRAMS = new ArrayList<>();
+
+    // Фазы загрузки
+    static final Histogram DICTIONARY_TEXT_LOAD = latency("dictionary.load.text");
+    static final Histogram DICTIONARY_COMPILED_LOAD = latency("dictionary.load.compiled");
+    static final Histogram DICTIONARY_BUILD = latency("dictionary.build");
+    static final Histogram LETTER_INDEX_BUILD = latency("dictionary.letterIndex.build");
+    static final Histogram CLUE_MATRIX_LOAD = latency("clueMatrix.load");
+    static final Histogram CLUE_MATRIX_BUILD = latency("clueMatrix.build");
+    static final Histogram OPENING_BOOK_LOAD = latency("openingBook.load");
+
+    // Ходы: проверка введённого слова (время — и для отвергнутых слов) и её исход
+    static final Histogram GUESS_VALIDATION = latency("game.guess.validation");
+    static final LongAdder GUESSES = counter("game.guess.accepted");
+    static final LongAdder GUESSES_INVALID = counter("game.guess.invalid");
+    static final LongAdder GUESSES_NOT_IN_DICTIONARY = counter("game.guess.notInDictionary");
+
+    // Подсказки: коды, вычисленные пакетно (не из таблицы, счёт раз за пакет), время suggest и размер множества кандидатов
+    static final LongAdder CLUES_COMPUTED = counter("clue.computed");
+    static final Histogram SUGGEST = latency("suggest");
+    static final Histogram SUGGEST_CANDIDATES = values("suggest.candidates");
+    static final LongAdder SUGGEST_CACHE_HITS = counter("suggest.cacheHits");
+
+    private Metrics() {
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean value) {
+        enabled = value;
+    }
+
+    // Начало замера: текущее время или 0, если метрики выключены
+    static long start() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    // Конец замера, начатого start(); замер, начатый при выключенных метриках, не записывается
+    static void stop(Histogram histogram, long start) {
+        if (start != 0) {
+            histogram.record(System.nanoTime() - start);
+        }
+    }
+
+    static void record(Histogram histogram, long value) {
+        if (enabled) {
+            histogram.record(value);
+        }
+    }
+
+    static void count(LongAdder counter) {
+        if (enabled) {
+            counter.increment();
+        }
+    }
+
+    static void count(LongAdder counter, long n) {
+        if (enabled) {
+            counter.add(n);
+        }
+    }
+
+    public static Snapshot snapshot() {
+        Map<String, Long> counters = new LinkedHashMap<>();
+        COUNTERS.forEach((name, counter) -> counters.put(name, counter.sum()));
+        Map<String, Histogram.Snapshot> histograms = new LinkedHashMap<>();
+        for (Histogram histogram : HISTOGRAMS) {
+            histograms.put(histogram.getName(), histogram.snapshot());
+        }
+        return new Snapshot(System.currentTimeMillis(), counters, histograms);
+    }
+
+    public static String format() {
+        return snapshot().format();
+    }
+
+    // Обнуляет все метрики; записи, идущие в это время, могут частично сохраниться
+    public static void reset() {
+        COUNTERS.values().forEach(LongAdder::reset);
+        HISTOGRAMS.forEach(Histogram::reset);
+    }
+
+    // Каждые periodMillis передаёт consumer снимок метрик в фоновом потоке, пока не вызван close()
+    public static Reporter every(long periodMillis, Consumer<Snapshot> consumer) {
+        if (periodMillis <= 0) {
+            throw new IllegalArgumentException("periodMillis должен быть положительным: " + periodMillis);
+        }
+        return new Reporter(periodMillis, consumer);
+    }
+
+    private static Histogram latency(String name) {
+        Histogram histogram = new Histogram(name, true);
+        HISTOGRAMS.add(histogram);
+        return histogram;
+    }
+
+    private static Histogram values(String name) {
+        Histogram histogram = new Histogram(name, false);
+        HISTOGRAMS.add(histogram);
+        return histogram;
+    }
+
+    private static LongAdder counter(String name) {
+        LongAdder counter = new LongAdder();
+        COUNTERS.put(name, counter);
+        return counter;
+    }
+
+    // Неизменяемый снимок всех метрик
+    public static final class Snapshot {
+        private final long timeMillis;
+        private final Map<String, Long> counters;
+        private final Map<String, Histogram.Snapshot> histograms;
+
+        private Snapshot(long timeMillis, Map<String, Long> counters, Map<String, Histogram.Snapshot> histograms) {
+            this.timeMillis = timeMillis;
+            this.counters = Collections.unmodifiableMap(counters);
+            this.histograms = Collections.unmodifiableMap(histograms);
+        }
+
+        public long getTimeMillis() {
+            return timeMillis;
+        }
+
+        public long counter(String name) {
+            Long value = counters.get(name);
+            if (value == null) {
+                throw new IllegalArgumentException("Нет счётчика " + name);
+            }
+            return value;
+        }
+
+        public Histogram.Snapshot histogram(String name) {
+            Histogram.Snapshot histogram = histograms.get(name);
+            if (histogram == null) {
+                throw new IllegalArgumentException("Нет гистограммы " + name);
+            }
+            return histogram;
+        }
+
+        public Map<String, Long> getCounters() {
+            return counters;
+        }
+
+        public Map<String, Histogram.Snapshot> getHistograms() {
+            return histograms;
+        }
+
+        // Текстовый вид: счётчик или гистограмма на строку; пустые гистограммы пропускаются
+        public String format() {
+            StringBuilder sb = new StringBuilder();
+            counters.forEach((name, value) -> sb.append(name).append(": ").append(value).append('\n'));
+            for (Histogram.Snapshot histogram : histograms.values()) {
+                if (histogram.getCount() > 0) {
+                    sb.append(histogram.format()).append('\n');
+                }
+            }
+            return sb.toString();
+        }
+    }
+
+    // Периодическая выдача снимков; close() останавливает её
+    public static final class Reporter implements AutoCloseable {
+        private final ScheduledExecutorService executor;
+
+        private Reporter(long periodMillis, Consumer<Snapshot> consumer) {
+            this.executor = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "wordle-metrics-reporter");
+                t.setDaemon(true);
+                return t;
+            });
+            executor.scheduleAtFixedRate(() -> consumer.accept(snapshot()), periodMillis, periodMillis,
+                    TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public void close() {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package ru.yandex.practicum;
+
+/*
+Выбирает слово, у которого самая большая корзина кандидатов минимальна,
+то есть минимизирует число оставшихся кандидатов в худшем случае.
+*/
+public class MinimaxStrategy extends ScoringStrategy {
+
+    public MinimaxStrategy(long budgetMillis) {
+        super(budgetMillis);
+    }
+
+    @Override
+    protected double score(int[] buckets, int[] touched, int touchedCount, int total) {
+        int max = 0;
+        for (int i = 0; i < touchedCount; i++) {
+            max = Math.max(max, buckets[touched[i]]);
+        }
+        return max;
+    }
+}
@@ -0,0 +1,242 @@
+package ru.yandex.practicum;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/*
+Игра на нескольких досках (Dordle — 2, Quordle — 4, Octordle — 8): загадано по слову на каждую доску,
+каждая попытка проверяется на всех ещё не угаданных досках сразу. Игра выиграна, когда угаданы все доски.
+Попыток на boards досок — boards + 5 (7, 9 и 13), как в известных вариантах игры.
+
+Словарь, таблица подсказок и индекс по буквам у досок общие; на доску приходятся только
+загаданное слово, множество кандидатов и коды подсказок. Код подсказки на доску считается
+один раз за ход. suggest() выбирает слово сразу по всем нерешённым доскам
+(см. SuggestionStrategy.suggest с массивом досок).
+*/
+public class MultiBoardGame {
+
+    public static final int MAX_BOARDS = 8;
+    public static final int NO_CLUE = -1; // код подсказки для доски, угаданной раньше этого хода
+
+    private final WordleDictionary dictionary;
+    private final ClueSource clues;
+    private final SuggestionStrategy strategy;
+    private final Logger logger;
+    private final int maxSteps;
+
+    private final int[] answers;
+    private final WordBitSet[] candidates;
+    private final int[] candidateCounts;
+    private final int[] solvedAtMove;            // номер хода (с 1), на котором угадана доска, 0 — не угадана
+    private final int[] guessIndices;
+    private final int[][] clueCodes;             // clueCodes[ход][доска]
+    private int guessCount;
+    private int solvedCount;
+
+    // Случайные различные слова на boards досках
+    public MultiBoardGame(WordleDictionary dictionary, Logger logger, ClueMatrix clueMatrix,
+                          SuggestionStrategy strategy, int boards) {
+        this(dictionary, logger, clueMatrix, strategy, randomAnswers(dictionary, boards));
+    }
+
+    // answers[b] — индекс загаданного слова на доске b
+    public MultiBoardGame(WordleDictionary dictionary, Logger logger, ClueMatrix clueMatrix,
+                          SuggestionStrategy strategy, int[] answers) {
+        if (dictionary == null) {
+            throw new IllegalArgumentException("dictionary == null");
+        }
+        if (strategy == null) {
+            throw new IllegalArgumentException("strategy == null");
+        }
+        if (dictionary.size() == 0) {
+            throw new EmptyDictionaryException("Игровой словарь пуст");
+        }
+        if (answers.length < 1 || answers.length > MAX_BOARDS) {
+            throw new IllegalArgumentException("Число досок должно быть от 1 до " + MAX_BOARDS + ": " + answers.length);
+        }
+        if (clueMatrix != null && clueMatrix.size() != dictionary.size()) {
+            throw new IllegalArgumentException("Таблица подсказок построена для другого словаря");
+        }
+        for (int answer : answers) {
+            if (answer < 0 || answer >= dictionary.size()) {
+                throw new IllegalArgumentException("Нет слова с индексом " + answer);
+            }
+        }
+
+        this.dictionary = dictionary;
+        this.clues = clueMatrix != null ? clueMatrix : ClueSource.of(dictionary);
+        this.strategy = strategy;
+        this.logger = logger;
+        this.maxSteps = answers.length + 5;
+        this.answers = answers.clone();
+
+        int boards = answers.length;
+        this.candidates = new WordBitSet[boards];
+        this.candidateCounts = new int[boards];
+        for (int b = 0; b < boards; b++) {
+            candidates[b] = WordBitSet.full(dictionary.size());
+            candidateCounts[b] = dictionary.size();
+        }
+        this.solvedAtMove = new int[boards];
+        this.guessIndices = new int[maxSteps];
+        this.clueCodes = new int[maxSteps][boards];
+        logger.log("Загаданы слова на " + boards + " досках.");
+    }
+
+    public int getBoardCount() {
+        return answers.length;
+    }
+
+    public int getMaxSteps() {
+        return maxSteps;
+    }
+
+    public int getRemainingSteps() {
+        return maxSteps - guessCount;
+    }
+
+    public int getGuessCount() {
+        return guessCount;
+    }
+
+    public WordleDictionary getDictionary() {
+        return dictionary;
+    }
+
+    public String getAnswer(int board) {
+        return dictionary.wordAt(answers[board]);
+    }
+
+    public boolean isSolved(int board) {
+        return solvedAtMove[board] != 0;
+    }
+
+    // Номер хода (с 1), на котором угадана доска, или 0
+    public int getSolvedAtMove(int board) {
+        return solvedAtMove[board];
+    }
+
+    public int getRemainingCandidates(int board) {
+        return candidateCounts[board];
+    }
+
+    // Код подсказки хода move на доске board или NO_CLUE, если доска была угадана раньше
+    public int getClueCode(int move, int board) {
+        if (move < 0 || move >= guessCount) {
+            throw new IndexOutOfBoundsException("Нет хода " + move);
+        }
+        return clueCodes[move][board];
+    }
+
+    public int getGuessIndex(int move) {
+        if (move < 0 || move >= guessCount) {
+            throw new IndexOutOfBoundsException("Нет хода " + move);
+        }
+        return guessIndices[move];
+    }
+
+    public boolean isWon() {
+        return solvedCount == answers.length;
+    }
+
+    public boolean isFinished() {
+        return isWon() || guessCount >= maxSteps;
+    }
+
+    /*
+     Ход словом guess: возвращает подсказки "+^-" по доскам; для досок, угаданных раньше, — null.
+     */
+    public String[] makeGuess(String guess) {
+        int guessIndex = GuessValidator.indexOf(dictionary, guess);
+        int length = dictionary.getWordLength();
+
+        int[] codes = makeGuess(guessIndex);
+        String[] result = new String[codes.length];
+        for (int b = 0; b < codes.length; b++) {
+            result[b] = codes[b] == NO_CLUE ? null : WordleClue.decode(codes[b], length);
+        }
+        return result;
+    }
+
+    // То же по индексу слова; возвращает коды подсказок по доскам (NO_CLUE для угаданных раньше)
+    public int[] makeGuess(int guessIndex) {
+        GuessValidator.checkIndex(dictionary, guessIndex);
+        if (isFinished()) {
+            throw new IllegalStateException("Игра уже закончена");
+        }
+
+        int move = guessCount++;
+        guessIndices[move] = guessIndex;
+        int[] codes = clueCodes[move];
+        long packedGuess = dictionary.packedAt(guessIndex);
+        LetterIndex letterIndex = dictionary.getLetterIndex();
+
+        for (int b = 0; b < answers.length; b++) {
+            if (isSolved(b)) {
+                codes[b] = NO_CLUE;
+                continue;
+            }
+            int code = clues.clue(guessIndex, answers[b]);
+            codes[b] = code;
+            letterIndex.applyClue(candidates[b], packedGuess, code);
+            candidateCounts[b] = candidates[b].cardinality();
+            if (guessIndex == answers[b]) {
+                solvedAtMove[b] = move + 1;
+                solvedCount++;
+            }
+            logger.log(new LogEvent.Guess(dictionary, guessIndex, code, getRemainingSteps()));
+        }
+        GuessValidator.accepted();
+        return codes.clone();
+    }
+
+    public String suggest() {
+        int index = suggestIndex();
+        return index >= 0 ? dictionary.wordAt(index) : null;
+    }
+
+    // Слово, лучшее сразу для всех нерешённых досок, или -1
+    public int suggestIndex() {
+        if (isFinished()) return -1;
+        long start = Metrics.start();
+
+        WordBitSet[] open = new WordBitSet[answers.length - solvedCount];
+        int k = 0;
+        for (int b = 0; b < answers.length; b++) {
+            if (!isSolved(b)) {
+                open[k++] = candidates[b];
+                Metrics.record(Metrics.SUGGEST_CANDIDATES, candidateCounts[b]);
+            }
+        }
+        int index = strategy.suggest(dictionary, clues, open);
+
+        Metrics.stop(Metrics.SUGGEST, start);
+        logger.log(new LogEvent.Hint(dictionary, index));
+        return index;
+    }
+
+    private static int[] randomAnswers(WordleDictionary dictionary, int boards) {
+        if (boards < 1 || boards > MAX_BOARDS) {
+            throw new IllegalArgumentException("Число досок должно быть от 1 до " + MAX_BOARDS + ": " + boards);
+        }
+        if (dictionary.size() < boards) {
+            throw new IllegalArgumentException("В словаре меньше слов, чем досок");
+        }
+        int[] answers = new int[boards];
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int b = 0; b < boards; b++) {
+            int candidate;
+            do {
+                candidate = random.nextInt(dictionary.size());
+            } while (contains(answers, b, candidate));
+            answers[b] = candidate;
+        }
+        return answers;
+    }
+
+    private static boolean contains(int[] values, int count, int value) {
+        for (int i = 0; i < count; i++) {
+            if (values[i] == value) return true;
+        }
+        return false;
+    }
+}
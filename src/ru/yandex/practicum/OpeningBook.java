@@ -0,0 +1,419 @@
+package ru.yandex.practicum;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.RecursiveTask;
+import java.util.zip.CRC32;
+
+/*
+Дебютная книга — заранее посчитанное дерево решений для словаря.
+Корень — первый ход (opener); у каждого узла есть дети по кодам подсказок, в ребёнке лежит слово,
+которое стратегия предлагает после такой подсказки. Дерево покрывает все загаданные слова
+на глубину до WordleGame.MAX_STEPS ходов, поэтому suggest() по истории игры сводится
+к спуску от корня — O(число ходов). Если игрок сходил не по книге, подсказка считается обычным поиском.
+
+Дерево хранится плоскими массивами: guess[узел], firstEdge[узел..узел+1) — рёбра узла,
+edgeCode[ребро] (по возрастанию внутри узла) и edgeChild[ребро].
+Формат файла (big-endian):
+  int  магическое число "WBOK"
+  int  версия формата
+  int  длина слова
+  int  число слов словаря
+  long хэш содержимого словаря (WordleDictionary.contentHash)
+  int  число узлов
+  int  число рёбер
+  int  CRC32 данных
+  int[узлы] guess, int[узлы + 1] firstEdge, short[рёбра] edgeCode, int[рёбра] edgeChild
+
+Запуск как команда: java ru.yandex.practicum.OpeningBook [--dictionary=words_ru.txt] [--opener=слово]
+                                                         [--strategy=entropy] [--budget=60000] [--out=файл.book]
+*/
+public class OpeningBook {
+
+    public static final String FILE_SUFFIX = ".book";
+
+    private static final int MAGIC = 0x57424F4B; // "WBOK"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 4 * 4 + 8 + 4 * 3;
+
+    private final long dictionaryHash;
+    private final int[] guess;
+    private final int[] firstEdge;
+    private final short[] edgeCode;
+    private final int[] edgeChild;
+
+    private OpeningBook(long dictionaryHash, int[] guess, int[] firstEdge, short[] edgeCode, int[] edgeChild) {
+        this.dictionaryHash = dictionaryHash;
+        this.guess = guess;
+        this.firstEdge = firstEdge;
+        this.edgeCode = edgeCode;
+        this.edgeChild = edgeChild;
+    }
+
+    public static void main(String[] args) {
+        String dictionaryFile = "words_ru.txt";
+        String opener = null;
+        String strategyName = "entropy";
+        long budget = 60_000;
+        String out = null;
+
+        for (String arg : args) {
+            String value = arg.substring(arg.indexOf('=') + 1);
+            if (arg.startsWith("--dictionary=")) {
+                dictionaryFile = value;
+            } else if (arg.startsWith("--opener=")) {
+                opener = WordleDictionary.normalizeWord(value);
+            } else if (arg.startsWith("--strategy=")) {
+                strategyName = value;
+            } else if (arg.startsWith("--budget=")) {
+                budget = Long.parseLong(value);
+            } else if (arg.startsWith("--out=")) {
+                out = value;
+            } else {
+                System.out.println("Неизвестный параметр: " + arg);
+                return;
+            }
+        }
+
+        try {
+            Logger logger = Logger.discarding();
+            WordleDictionary dictionary = new WordleDictionaryLoader(logger).load(dictionaryFile);
+            ClueMatrix clueMatrix = ClueMatrix.loadOrBuild(dictionary, Path.of(dictionaryFile), logger);
+            SuggestionStrategy strategy = SuggestionStrategy.byName(strategyName, budget);
+
+            int openerIndex = opener == null ? -1 : dictionary.indexOf(opener);
+            if (opener != null && openerIndex < 0) {
+                System.out.println("Первого хода нет в словаре: " + opener);
+                return;
+            }
+
+            long start = System.nanoTime();
+            OpeningBook book = build(dictionary, clueMatrix, strategy, openerIndex);
+            Path target = out != null ? Path.of(out) : bookFileFor(Path.of(dictionaryFile));
+            book.save(target, dictionary);
+
+            System.out.printf("Книга построена за %.1f с: первый ход %s, узлов %d, глубина %d -> %s%n",
+                    (System.nanoTime() - start) / 1e9, dictionary.wordAt(book.getOpener()),
+                    book.nodeCount(), book.depth(), target);
+        } catch (DictionaryLoadException | IOException | IllegalArgumentException e) {
+            System.out.println("Не удалось построить книгу: " + e.getMessage());
+        }
+    }
+
+    // Имя файла книги по умолчанию: words_ru.txt -> words_ru.book
+    public static Path bookFileFor(Path dictionaryFile) {
+        String name = dictionaryFile.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        String base = dot > 0 ? name.substring(0, dot) : name;
+        return dictionaryFile.resolveSibling(base + FILE_SUFFIX);
+    }
+
+    /*
+     Строит дерево: от первого хода openerIndex (-1 — выбрать стратегией) для каждой подсказки
+     стратегия выбирает следующий ход по оставшимся кандидатам, и так до угадывания или до MAX_STEPS ходов.
+     Поддеревья независимы и строятся параллельно в fork-join пуле вызывающего потока
+     (вне пула — в общем).
+     */
+    public static OpeningBook build(WordleDictionary dictionary, ClueSource clues, SuggestionStrategy strategy,
+                                    int openerIndex) {
+        int n = dictionary.size();
+        if (n == 0) {
+            throw new EmptyDictionaryException("Словарь пуст");
+        }
+        if (openerIndex >= n) {
+            throw new IllegalArgumentException("Нет слова с индексом " + openerIndex);
+        }
+        dictionary.getLetterIndex();
+
+        int[] all = new int[n];
+        Arrays.setAll(all, i -> i);
+        BuildTask root = new BuildTask(dictionary, clues, strategy, all, openerIndex, 0);
+        return flatten(root.invoke(), dictionary.contentHash());
+    }
+
+    /*
+     Подсказка по истории игры: count ходов guesses с полученными кодами codes.
+     Возвращает индекс слова или -1, если история сошла с книги (или дерево на ней закончилось).
+     */
+    public int lookup(int[] guesses, int[] codes, int count) {
+        int node = 0;
+        for (int k = 0; k < count; k++) {
+            if (guesses[k] != guess[node]) return -1;
+            node = child(node, codes[k]);
+            if (node < 0) return -1;
+        }
+        return guess[node];
+    }
+
+    public int getOpener() {
+        return guess[0];
+    }
+
+    public int nodeCount() {
+        return guess.length;
+    }
+
+    // Наибольшее число ходов по книге
+    public int depth() {
+        int[] level = new int[guess.length];
+        level[0] = 1;
+        int max = 1;
+        for (int node = 0; node < guess.length; node++) {
+            for (int e = firstEdge[node]; e < firstEdge[node + 1]; e++) {
+                level[edgeChild[e]] = level[node] + 1;
+                max = Math.max(max, level[node] + 1);
+            }
+        }
+        return max;
+    }
+
+    // Книга годится только для того словаря, по которому построена
+    public boolean isBuiltFor(WordleDictionary dictionary) {
+        return dictionaryHash == dictionary.contentHash();
+    }
+
+    private int child(int node, int code) {
+        int lo = firstEdge[node];
+        int hi = firstEdge[node + 1] - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int c = edgeCode[mid] & 0xFFFF;
+            if (c < code) {
+                lo = mid + 1;
+            } else if (c > code) {
+                hi = mid - 1;
+            } else {
+                return edgeChild[mid];
+            }
+        }
+        return -1;
+    }
+
+    // Записывает книгу во временный файл и атомарно переименовывает его в target
+    public void save(Path target, WordleDictionary dictionary) throws IOException {
+        int nodes = guess.length;
+        int edges = edgeCode.length;
+        ByteBuffer data = ByteBuffer.allocate(nodes * 4 + (nodes + 1) * 4 + edges * 2 + edges * 4)
+                .order(ByteOrder.BIG_ENDIAN);
+        for (int g : guess) data.putInt(g);
+        for (int e : firstEdge) data.putInt(e);
+        for (short c : edgeCode) data.putShort(c);
+        for (int c : edgeChild) data.putInt(c);
+        data.flip();
+
+        CRC32 crc = new CRC32();
+        crc.update(data.duplicate());
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.BIG_ENDIAN);
+        header.putInt(MAGIC).putInt(VERSION).putInt(dictionary.getWordLength()).putInt(dictionary.size())
+                .putLong(dictionaryHash).putInt(nodes).putInt(edges).putInt((int) crc.getValue()).flip();
+
+        Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (header.hasRemaining() || data.hasRemaining()) {
+                channel.write(new ByteBuffer[]{header, data});
+            }
+        }
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // Читает книгу; если она повреждена или построена для другого словаря — IOException
+    public static OpeningBook read(Path file, WordleDictionary dictionary) throws IOException {
+        long start = Metrics.start();
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+                throw new IOException("Неверный размер файла: " + size);
+            }
+            buffer = ByteBuffer.allocate((int) size).order(ByteOrder.BIG_ENDIAN);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) break;
+            }
+            buffer.flip();
+        }
+
+        if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+            throw new IOException("Неизвестный формат файла");
+        }
+        int wordLength = buffer.getInt();
+        int words = buffer.getInt();
+        long hash = buffer.getLong();
+        int nodes = buffer.getInt();
+        int edges = buffer.getInt();
+        int checksum = buffer.getInt();
+
+        if (wordLength != dictionary.getWordLength() || words != dictionary.size()
+                || hash != dictionary.contentHash()) {
+            throw new IOException("Книга построена для другого словаря");
+        }
+        if (nodes <= 0 || edges < 0 || buffer.remaining() != nodes * 8 + 4 + edges * 6) {
+            throw new IOException("Неверный размер данных: " + buffer.remaining());
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate());
+        if ((int) crc.getValue() != checksum) {
+            throw new IOException("Контрольная сумма не совпадает");
+        }
+
+        int[] guess = new int[nodes];
+        int[] firstEdge = new int[nodes + 1];
+        short[] edgeCode = new short[edges];
+        int[] edgeChild = new int[edges];
+        for (int i = 0; i < nodes; i++) guess[i] = buffer.getInt();
+        for (int i = 0; i <= nodes; i++) firstEdge[i] = buffer.getInt();
+        for (int i = 0; i < edges; i++) edgeCode[i] = buffer.getShort();
+        for (int i = 0; i < edges; i++) edgeChild[i] = buffer.getInt();
+
+        // Проверяем ссылки, чтобы испорченный файл не привёл к выходу за границы при поиске
+        for (int i = 0; i < nodes; i++) {
+            if (guess[i] < 0 || guess[i] >= words || firstEdge[i] > firstEdge[i + 1]) {
+                throw new IOException("Повреждённый узел " + i);
+            }
+        }
+        if (firstEdge[0] != 0 || firstEdge[nodes] != edges) {
+            throw new IOException("Повреждённый список рёбер");
+        }
+        for (int child : edgeChild) {
+            if (child <= 0 || child >= nodes) {
+                throw new IOException("Повреждённое ребро: " + child);
+            }
+        }
+        OpeningBook book = new OpeningBook(hash, guess, firstEdge, edgeCode, edgeChild);
+        Metrics.stop(Metrics.OPENING_BOOK_LOAD, start);
+        return book;
+    }
+
+    // Узел дерева во время построения; потом дерево переписывается в плоские массивы
+    private static final class Node {
+        final int guess;
+        final int[] codes;
+        final Node[] children;
+
+        Node(int guess, int[] codes, Node[] children) {
+            this.guess = guess;
+            this.codes = codes;
+            this.children = children;
+        }
+    }
+
+    private static final class BuildTask extends RecursiveTask<Node> {
+        private final WordleDictionary dictionary;
+        private final ClueSource clues;
+        private final SuggestionStrategy strategy;
+        private final int[] candidates;
+        private final int fixedGuess;
+        private final int depth;
+
+        BuildTask(WordleDictionary dictionary, ClueSource clues, SuggestionStrategy strategy,
+                  int[] candidates, int fixedGuess, int depth) {
+            this.dictionary = dictionary;
+            this.clues = clues;
+            this.strategy = strategy;
+            this.candidates = candidates;
+            this.fixedGuess = fixedGuess;
+            this.depth = depth;
+        }
+
+        @Override
+        protected Node compute() {
+            if (candidates.length == 1) {
+                return new Node(candidates[0], new int[0], new Node[0]);
+            }
+
+            int guess = fixedGuess;
+            if (guess < 0) {
+                WordBitSet set = new WordBitSet(dictionary.size());
+                for (int c : candidates) {
+                    set.set(c);
+                }
+                guess = strategy.suggest(dictionary, clues, set);
+            }
+            if (depth + 1 >= WordleGame.MAX_STEPS) {
+                return new Node(guess, new int[0], new Node[0]);
+            }
+
+            // Раскладываем кандидатов по кодам подсказок; порядок кандидатов внутри корзины сохраняется
+            int codeCount = WordleClue.codeCount(dictionary.getWordLength());
+            int solved = WordleClue.allCorrect(dictionary.getWordLength());
+            int[] sizes = new int[codeCount];
+            int[] codeOf = new int[candidates.length];
+            for (int i = 0; i < candidates.length; i++) {
+                codeOf[i] = clues.clue(guess, candidates[i]);
+                sizes[codeOf[i]]++;
+            }
+
+            int[][] buckets = new int[codeCount][];
+            int[] fill = new int[codeCount];
+            for (int i = 0; i < candidates.length; i++) {
+                int code = codeOf[i];
+                if (code == solved) continue;
+                if (buckets[code] == null) buckets[code] = new int[sizes[code]];
+                buckets[code][fill[code]++] = candidates[i];
+            }
+
+            List<Integer> codes = new ArrayList<>();
+            List<BuildTask> tasks = new ArrayList<>();
+            for (int code = 0; code < codeCount; code++) {
+                if (buckets[code] == null) continue;
+                // Ход без информации (все кандидаты дали одну подсказку) дальше не ведёт
+                if (buckets[code].length == candidates.length) continue;
+                codes.add(code);
+                tasks.add(new BuildTask(dictionary, clues, strategy, buckets[code], -1, depth + 1));
+            }
+            invokeAll(tasks);
+
+            Node[] children = new Node[tasks.size()];
+            for (int i = 0; i < children.length; i++) {
+                children[i] = tasks.get(i).join();
+            }
+            return new Node(guess, codes.stream().mapToInt(Integer::intValue).toArray(), children);
+        }
+    }
+
+    // Обход в ширину: корень получает номер 0, рёбра каждого узла идут подряд по возрастанию кода
+    private static OpeningBook flatten(Node root, long hash) {
+        List<Node> order = new ArrayList<>();
+        ArrayDeque<Node> queue = new ArrayDeque<>();
+        queue.add(root);
+        int edges = 0;
+        while (!queue.isEmpty()) {
+            Node node = queue.poll();
+            order.add(node);
+            edges += node.children.length;
+            queue.addAll(Arrays.asList(node.children));
+        }
+
+        int nodes = order.size();
+        int[] guess = new int[nodes];
+        int[] firstEdge = new int[nodes + 1];
+        short[] edgeCode = new short[edges];
+        int[] edgeChild = new int[edges];
+
+        int e = 0;
+        int nextChild = 1; // в порядке обхода в ширину дети узлов идут подряд
+        for (int i = 0; i < nodes; i++) {
+            Node node = order.get(i);
+            guess[i] = node.guess;
+            firstEdge[i] = e;
+            for (int k = 0; k < node.children.length; k++) {
+                edgeCode[e] = (short) node.codes[k];
+                edgeChild[e++] = nextChild++;
+            }
+        }
+        firstEdge[nodes] = e;
+        return new OpeningBook(hash, guess, firstEdge, edgeCode, edgeChild);
+    }
+}
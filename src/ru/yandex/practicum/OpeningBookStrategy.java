@@ -0,0 +1,91 @@
+package ru.yandex.practicum;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+Стратегия с дебютной книгой: пока история игры идёт по книге, подсказка берётся из дерева
+за O(число ходов), иначе выбор делает обычная стратегия fallback.
+Для словаря, по которому книга не строилась (например, после перезагрузки словаря), книга не используется.
+*/
+public class OpeningBookStrategy implements SuggestionStrategy {
+
+    private final OpeningBook book;
+    private final SuggestionStrategy fallback;
+    private final LongAdder bookHits = new LongAdder();
+    private final LongAdder fallbacks = new LongAdder();
+    private volatile WordleDictionary verifiedFor; // последний словарь, с которым книга сверена по хэшу
+
+    public OpeningBookStrategy(OpeningBook book, SuggestionStrategy fallback) {
+        if (book == null || fallback == null) {
+            throw new IllegalArgumentException("book и fallback обязательны");
+        }
+        this.book = book;
+        this.fallback = fallback;
+    }
+
+    /*
+     Возвращает стратегию с книгой из файла рядом со словарём (см. OpeningBook.bookFileFor),
+     если файл есть и построен для этого словаря; иначе — саму fallback.
+     */
+    public static SuggestionStrategy withBookIfPresent(WordleDictionary dictionary, Path dictionaryFile,
+                                                       SuggestionStrategy fallback, Logger logger) {
+        Path file = OpeningBook.bookFileFor(dictionaryFile);
+        if (!Files.isRegularFile(file)) {
+            return fallback;
+        }
+        try {
+            OpeningBook book = OpeningBook.read(file, dictionary);
+            logger.log("Дебютная книга загружена из " + file.getFileName() + ": " + book.nodeCount() + " узлов");
+            return new OpeningBookStrategy(book, fallback);
+        } catch (IOException e) {
+            logger.logError("Дебютная книга не подходит, подсказки считаются без неё", e);
+            return fallback;
+        }
+    }
+
+    @Override
+    public int suggest(WordleDictionary dictionary, ClueSource clues, WordBitSet candidates) {
+        fallbacks.increment();
+        return fallback.suggest(dictionary, clues, candidates);
+    }
+
+    @Override
+    public int suggest(WordleDictionary dictionary, ClueSource clues, WordBitSet candidates,
+                       int[] guesses, int[] codes, int count) {
+        int index = isBookFor(dictionary) ? book.lookup(guesses, codes, count) : -1;
+        if (index >= 0) {
+            bookHits.increment();
+            return index;
+        }
+        return suggest(dictionary, clues, candidates);
+    }
+
+    // Книга построена для одной доски: на нескольких досках подсказывает основная стратегия
+    @Override
+    public int suggest(WordleDictionary dictionary, ClueSource clues, WordBitSet[] boards) {
+        fallbacks.increment();
+        return fallback.suggest(dictionary, clues, boards);
+    }
+
+    private boolean isBookFor(WordleDictionary dictionary) {
+        if (dictionary == verifiedFor) return true;
+        if (!book.isBuiltFor(dictionary)) return false;
+        verifiedFor = dictionary;
+        return true;
+    }
+
+    public OpeningBook getBook() {
+        return book;
+    }
+
+    public long getBookHits() {
+        return bookHits.sum();
+    }
+
+    public long getFallbacks() {
+        return fallbacks.sum();
+    }
+}
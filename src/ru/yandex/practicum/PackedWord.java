@@ -0,0 +1,47 @@
+package ru.yandex.practicum;
+
+/*
+Упаковка слова в long: по 5 бит на букву (номер буквы в алфавите а..я, 0..31),
+буква на позиции i занимает биты 5*i .. 5*i+4. Слово из 5 букв занимает 25 бит, из 8 — 40.
+Длина в упакованное слово не входит: её знает словарь, которому слово принадлежит.
+Слово должно быть нормализовано (см. WordleDictionary.normalizeWord).
+*/
+public final class PackedWord {
+
+    public static final int BITS_PER_LETTER = 5;
+    public static final int MAX_LENGTH = 12; // 12 * 5 = 60 бит помещаются в long
+
+    private static final int LETTER_MASK = (1 << BITS_PER_LETTER) - 1;
+
+    private PackedWord() {
+    }
+
+    public static long pack(String word) {
+        if (word.length() > MAX_LENGTH) {
+            throw new IllegalArgumentException("Слово слишком длинное для упаковки: " + word);
+        }
+
+        long packed = 0;
+        for (int i = 0; i < word.length(); i++) {
+            int c = WordleDictionary.letterCode(word.charAt(i));
+            if (c < 0) {
+                throw new IllegalArgumentException("Недопустимая буква в слове: " + word);
+            }
+            packed |= (long) c << (i * BITS_PER_LETTER);
+        }
+        return packed;
+    }
+
+    public static String unpack(long packed, int length) {
+        char[] res = new char[length];
+        for (int i = 0; i < length; i++) {
+            res[i] = WordleDictionary.letterOf(letterAt(packed, i));
+        }
+        return new String(res);
+    }
+
+    // Номер буквы (0..31) на позиции pos
+    public static int letterAt(long packed, int pos) {
+        return (int) (packed >>> (pos * BITS_PER_LETTER)) & LETTER_MASK;
+    }
+}
@@ -0,0 +1,78 @@
+package ru.yandex.practicum;
+
+import java.util.Arrays;
+
+/*
+Хэш-таблица "упакованное слово -> индекс в словаре" на примитивных массивах
+с открытой адресацией и линейным пробированием. Упакованные слова неотрицательны,
+поэтому -1 обозначает пустую ячейку. Ни ключи, ни значения не упаковываются в объекты.
+*/
+final class PackedWordIndex {
+
+    private static final long EMPTY = -1;
+
+    private long[] keys;
+    private int[] values;
+    private int size;
+
+    PackedWordIndex(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, expectedSize * 2) - 1) << 1;
+        keys = new long[capacity];
+        values = new int[capacity];
+        Arrays.fill(keys, EMPTY);
+    }
+
+    int size() {
+        return size;
+    }
+
+    // Индекс слова или -1, если слова нет
+    int get(long packedWord) {
+        int mask = keys.length - 1;
+        for (int slot = mix(packedWord) & mask; ; slot = (slot + 1) & mask) {
+            long key = keys[slot];
+            if (key == packedWord) return values[slot];
+            if (key == EMPTY) return -1;
+        }
+    }
+
+    // Добавляет слово, если его ещё нет; возвращает false, если слово уже было
+    boolean putIfAbsent(long packedWord, int index) {
+        if ((size + 1) * 2 > keys.length) {
+            grow();
+        }
+
+        int mask = keys.length - 1;
+        for (int slot = mix(packedWord) & mask; ; slot = (slot + 1) & mask) {
+            long key = keys[slot];
+            if (key == packedWord) return false;
+            if (key == EMPTY) {
+                keys[slot] = packedWord;
+                values[slot] = index;
+                size++;
+                return true;
+            }
+        }
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new int[oldValues.length * 2];
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                putIfAbsent(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    // Перемешивание битов, чтобы соседние слова не попадали в соседние ячейки
+    private static int mix(long x) {
+        x *= 0x9E3779B97F4A7C15L;
+        return (int) (x ^ (x >>> 32));
+    }
+}
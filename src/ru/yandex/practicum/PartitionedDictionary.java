@@ -0,0 +1,152 @@
+package ru.yandex.practicum;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.IntStream;
+
+/*
+Слова одного исходного файла, разложенные по длине (от MIN_WORD_LENGTH до MAX_WORD_LENGTH букв).
+Загрузчик (WordleDictionaryLoader.loadAll) читает файл один раз и складывает сюда упакованные слова
+каждой длины в порядке файла, ещё без удаления повторов. Словарь длины n (WordleDictionary
+с его индексами) строится при первом запросе forLength(n) и дальше переиспользуется,
+так что процесс платит только за те длины, в которые действительно играют.
+Класс потокобезопасен: словарь каждой длины строится ровно один раз.
+*/
+public final class PartitionedDictionary {
+
+    private final long[][] words;   // [длина] упакованные слова в порядке файла, с повторами
+    private final int[] counts;     // [длина] сколько слов в words[длина]
+    private final int lines;
+    private final Logger logger;
+    private final AtomicReferenceArray<WordleDictionary> dictionaries =
+            new AtomicReferenceArray<>(WordleDictionary.MAX_WORD_LENGTH + 1);
+
+    PartitionedDictionary(long[][] words, int[] counts, int lines, Logger logger) {
+        this.words = words;
+        this.counts = counts;
+        this.lines = lines;
+        this.logger = logger;
+    }
+
+    // Число непустых строк исходного файла
+    public int getLineCount() {
+        return lines;
+    }
+
+    // Сколько строк файла подошли под длину wordLength (повторы считаются)
+    public int rawCount(int wordLength) {
+        WordleDictionary.checkWordLength(wordLength);
+        return counts[wordLength];
+    }
+
+    // Построен ли уже словарь длины wordLength
+    public boolean isBuilt(int wordLength) {
+        WordleDictionary.checkWordLength(wordLength);
+        return dictionaries.get(wordLength) != null;
+    }
+
+    // Длины, для которых в файле есть хотя бы одно слово, по возрастанию
+    public int[] wordLengths() {
+        return IntStream.rangeClosed(WordleDictionary.MIN_WORD_LENGTH, WordleDictionary.MAX_WORD_LENGTH)
+                .filter(length -> counts[length] > 0)
+                .toArray();
+    }
+
+    /*
+     Хэш содержимого всех длин (FNV-1a по упакованным словам в порядке файла, с повторами).
+     По нему DictionaryProvider узнаёт, что перечитанный файл не изменился.
+     */
+    public long contentHash() {
+        long hash = 0xcbf29ce484222325L;
+        for (int length = WordleDictionary.MIN_WORD_LENGTH; length <= WordleDictionary.MAX_WORD_LENGTH; length++) {
+            hash = (hash ^ counts[length]) * 0x100000001b3L;
+            long[] partition = words[length];
+            for (int i = 0; i < counts[length]; i++) {
+                hash = (hash ^ partition[i]) * 0x100000001b3L;
+            }
+        }
+        return hash;
+    }
+
+    // Словарь слов длины wordLength; строится при первом обращении
+    public WordleDictionary forLength(int wordLength) {
+        WordleDictionary.checkWordLength(wordLength);
+        WordleDictionary dictionary = dictionaries.get(wordLength);
+        if (dictionary == null) {
+            synchronized (this) {
+                dictionary = dictionaries.get(wordLength);
+                if (dictionary == null) {
+                    dictionary = build(wordLength);
+                    dictionaries.set(wordLength, dictionary);
+                }
+            }
+        }
+        return dictionary;
+    }
+
+    private WordleDictionary build(int wordLength) {
+        int n = counts[wordLength];
+        WordleDictionary.Builder builder = new WordleDictionary.Builder(n, wordLength);
+        long[] packed = words[wordLength];
+        for (int i = 0; i < n; i++) {
+            builder.addPacked(packed[i]);
+        }
+        return new WordleDictionary(builder, logger);
+    }
+
+    /*
+     Накопитель слов по длинам для загрузчика: куски файла собираются в своих накопителях
+     параллельно, затем сливаются по порядку, чтобы индексы слов не зависели от параллельности.
+     */
+    static final class Builder {
+        private final long[][] words = new long[WordleDictionary.MAX_WORD_LENGTH + 1][];
+        private final int[] counts = new int[WordleDictionary.MAX_WORD_LENGTH + 1];
+        private int lines;
+
+        Builder() {
+            for (int length = WordleDictionary.MIN_WORD_LENGTH; length <= WordleDictionary.MAX_WORD_LENGTH; length++) {
+                words[length] = new long[256];
+            }
+        }
+
+        void addLine() {
+            lines++;
+        }
+
+        // Слово длины length (MIN_WORD_LENGTH..MAX_WORD_LENGTH), уже упакованное
+        void add(long packedWord, int length) {
+            long[] partition = words[length];
+            int count = counts[length];
+            if (count == partition.length) {
+                partition = Arrays.copyOf(partition, count * 2);
+                words[length] = partition;
+            }
+            partition[count] = packedWord;
+            counts[length] = count + 1;
+        }
+
+        int lines() {
+            return lines;
+        }
+
+        // Дописывает слова другого накопителя после своих
+        void addAll(Builder other) {
+            lines += other.lines;
+            for (int length = WordleDictionary.MIN_WORD_LENGTH; length <= WordleDictionary.MAX_WORD_LENGTH; length++) {
+                long[] partition = words[length];
+                int count = counts[length];
+                int extra = other.counts[length];
+                if (count + extra > partition.length) {
+                    partition = Arrays.copyOf(partition, Math.max(count + extra, partition.length * 2));
+                    words[length] = partition;
+                }
+                System.arraycopy(other.words[length], 0, partition, count, extra);
+                counts[length] = count + extra;
+            }
+        }
+
+        PartitionedDictionary build(Logger logger) {
+            return new PartitionedDictionary(words, counts, lines, logger);
+        }
+    }
+}
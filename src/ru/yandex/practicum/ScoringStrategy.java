@@ -0,0 +1,285 @@
+package ru.yandex.practicum;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.RecursiveTask;
+
+/*
+Общая часть политик, которые оценивают каждое допустимое слово-попытку.
+Для слова-попытки кандидаты раскладываются по "корзинам" — кодам подсказок, которые
+они бы дали; по размерам корзин наследник вычисляет оценку (меньше — лучше).
+Оценка слов идёт параллельно через fork-join в пуле вызывающего потока (из пула симуляции — в нём,
+иначе — в общем пуле). Кандидаты оцениваются первыми,
+поэтому если бюджет времени исчерпан, лучший результат всё равно осмысленный.
+При равной оценке предпочитается слово-кандидат: оно может сразу оказаться ответом.
+
+На нескольких досках (см. MultiBoardGame) оценка слова — сумма оценок по доскам (boardScore).
+Кандидаты всех досок лежат подряд в одном массиве, так что подсказки слова для всех досок
+считаются одним пакетом, а доски с одинаковыми множествами кандидатов (в начале игры — все)
+оцениваются один раз с соответствующим весом.
+*/
+public abstract class ScoringStrategy implements SuggestionStrategy {
+
+    private static final int LEAF_SIZE = 64; // сколько слов оценивает одна задача без деления
+
+    private final long budgetNanos;
+
+    protected ScoringStrategy(long budgetMillis) {
+        if (budgetMillis <= 0) {
+            throw new IllegalArgumentException("Бюджет времени должен быть положительным: " + budgetMillis);
+        }
+        this.budgetNanos = budgetMillis * 1_000_000L;
+    }
+
+    /*
+     Оценка слова-попытки по размерам корзин.
+     buckets — массив размеров корзин, индексы touched[0..touchedCount) — непустые корзины,
+     total — число кандидатов.
+     */
+    protected abstract double score(int[] buckets, int[] touched, int touchedCount, int total);
+
+    /*
+     Оценка по одной доске из нескольких; оценки досок складываются, поэтому они должны быть
+     сравнимы между досками с разным числом кандидатов. По умолчанию совпадает с score.
+     */
+    protected double boardScore(int[] buckets, int[] touched, int touchedCount, int total) {
+        return score(buckets, touched, touchedCount, total);
+    }
+
+    @Override
+    public int suggest(WordleDictionary dictionary, ClueSource clues, WordBitSet candidates) {
+        int[] answers = candidates.toArray();
+        if (answers.length <= 2) {
+            // Из двух кандидатов любой выбор одинаково хорош, а первый может угадать сразу
+            return answers.length == 0 ? -1 : answers[0];
+        }
+        return best(dictionary, clues, candidates, answers, new int[]{0, answers.length}, new int[]{1});
+    }
+
+    @Override
+    public int suggest(WordleDictionary dictionary, ClueSource clues, WordBitSet[] boards) {
+        // Доска с единственным кандидатом решается этим словом: ход всё равно понадобится.
+        // Доски группируются по снимку кандидатов (BoardKey), а не по самим WordBitSet: множества изменяемы
+        Map<BoardKey, Integer> weights = new LinkedHashMap<>();
+        for (WordBitSet board : boards) {
+            int count = board.cardinality();
+            if (count == 1) return board.nextSetBit(0);
+            if (count > 0) {
+                weights.merge(new BoardKey(board), 1, Integer::sum);
+            }
+        }
+        if (weights.isEmpty()) return -1;
+        if (weights.size() == 1) {
+            return suggest(dictionary, clues, weights.keySet().iterator().next().board);
+        }
+
+        WordBitSet union = new WordBitSet(dictionary.size());
+        int total = 0;
+        for (BoardKey key : weights.keySet()) {
+            union.or(key.board);
+            total += key.words.length;
+        }
+
+        int[] answers = new int[total];
+        int[] boardStart = new int[weights.size() + 1];
+        int[] boardWeights = new int[weights.size()];
+        int b = 0;
+        for (Map.Entry<BoardKey, Integer> entry : weights.entrySet()) {
+            int[] board = entry.getKey().words;
+            System.arraycopy(board, 0, answers, boardStart[b], board.length);
+            boardStart[b + 1] = boardStart[b] + board.length;
+            boardWeights[b++] = entry.getValue();
+        }
+        return best(dictionary, clues, union, answers, boardStart, boardWeights);
+    }
+
+    // Ключ группировки досок: неизменяемый снимок индексов кандидатов на момент вызова suggest
+    private static final class BoardKey {
+        final WordBitSet board;
+        final int[] words;
+        private final int hash;
+
+        BoardKey(WordBitSet board) {
+            this.board = board;
+            this.words = board.toArray();
+            this.hash = Arrays.hashCode(words);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof BoardKey && Arrays.equals(words, ((BoardKey) o).words);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /*
+     Лучшее слово для досок: кандидаты доски b — answers[boardStart[b]..boardStart[b+1]) с весом weights[b];
+     candidates — объединение кандидатов всех досок.
+     */
+    private int best(WordleDictionary dictionary, ClueSource clues, WordBitSet candidates, int[] answers,
+                     int[] boardStart, int[] weights) {
+        int[] order = guessOrder(candidates);
+        int codeCount = WordleClue.codeCount(dictionary.getWordLength());
+        long deadline = System.nanoTime() + budgetNanos;
+
+        // invoke() остаётся в пуле вызывающего потока, так что --threads симуляции ограничивает и оценку
+        Best best = new ScoreTask(clues, clues.answers(answers), candidates,
+                answers, boardStart, weights, order, 0, order.length, codeCount, deadline).invoke();
+        return best == null ? answers[0] : best.index;
+    }
+
+    // Сначала кандидаты, затем остальные слова словаря
+    private static int[] guessOrder(WordBitSet candidates) {
+        int n = candidates.capacity();
+        int[] order = new int[n];
+
+        int k = 0;
+        for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+            order[k++] = i;
+        }
+        for (int i = 0; i < n; i++) {
+            if (!candidates.get(i)) {
+                order[k++] = i;
+            }
+        }
+        return order;
+    }
+
+    private static final class Best {
+        final int index;
+        final double score;
+        final boolean candidate;
+
+        Best(int index, double score, boolean candidate) {
+            this.index = index;
+            this.score = score;
+            this.candidate = candidate;
+        }
+
+        boolean isBetterThan(Best other) {
+            if (other == null) return true;
+            if (score != other.score) return score < other.score;
+            if (candidate != other.candidate) return candidate;
+            return index < other.index;
+        }
+    }
+
+    private final class ScoreTask extends RecursiveTask<Best> {
+        private final ClueSource clues;
+        private final ClueSource.AnswerSet answerSet; // null — подсказки по одной через clues
+        private final WordBitSet candidates;
+        private final int[] answers;
+        private final int[] boardStart;
+        private final int[] weights;
+        private final int[] order;
+        private final int from;
+        private final int to;
+        private final int codeCount;
+        private final long deadline;
+
+        ScoreTask(ClueSource clues, ClueSource.AnswerSet answerSet, WordBitSet candidates, int[] answers,
+                  int[] boardStart, int[] weights, int[] order, int from, int to, int codeCount, long deadline) {
+            this.clues = clues;
+            this.answerSet = answerSet;
+            this.candidates = candidates;
+            this.answers = answers;
+            this.boardStart = boardStart;
+            this.weights = weights;
+            this.order = order;
+            this.from = from;
+            this.to = to;
+            this.codeCount = codeCount;
+            this.deadline = deadline;
+        }
+
+        @Override
+        protected Best compute() {
+            if (to - from <= LEAF_SIZE) {
+                return scoreRange();
+            }
+
+            int mid = (from + to) >>> 1;
+            ScoreTask left = new ScoreTask(clues, answerSet, candidates, answers, boardStart, weights, order,
+                    from, mid, codeCount, deadline);
+            ScoreTask right = new ScoreTask(clues, answerSet, candidates, answers, boardStart, weights, order,
+                    mid, to, codeCount, deadline);
+            // Левая половина (кандидаты идут в order первыми) считается в этом потоке, правая — отдаётся пулу,
+            // так что при одном потоке или коротком бюджете кандидаты не остаются неоценёнными
+            right.fork();
+            Best l = left.compute();
+            Best r = right.join();
+
+            if (l == null) return r;
+            return r != null && r.isBetterThan(l) ? r : l;
+        }
+
+        private Best scoreRange() {
+            boolean single = weights.length == 1;
+            int[] buckets = new int[codeCount];
+            int[] touched = new int[Math.min(codeCount, answers.length)];
+            int[] codes = answerSet != null || !single ? new int[answers.length] : null;
+            Best best = null;
+
+            for (int k = from; k < to; k++) {
+                // Первое слово диапазона оцениваем всегда, дальше — пока не вышло время
+                if (k > from && System.nanoTime() > deadline) break;
+
+                int guess = order[k];
+                double score;
+                if (codes == null) {
+                    // одна доска и таблица подсказок: раскладываем по корзинам сразу при чтении
+                    int touchedCount = 0;
+                    for (int answer : answers) {
+                        int code = clues.clue(guess, answer);
+                        if (buckets[code]++ == 0) {
+                            touched[touchedCount++] = code;
+                        }
+                    }
+                    score = score(buckets, touched, touchedCount, answers.length);
+                    clear(buckets, touched, touchedCount);
+                } else {
+                    if (answerSet != null) {
+                        answerSet.clues(guess, codes);
+                    } else {
+                        for (int i = 0; i < answers.length; i++) {
+                            codes[i] = clues.clue(guess, answers[i]);
+                        }
+                    }
+                    score = 0;
+                    for (int b = 0; b < weights.length; b++) {
+                        int start = boardStart[b];
+                        int end = boardStart[b + 1];
+                        int touchedCount = 0;
+                        for (int i = start; i < end; i++) {
+                            int code = codes[i];
+                            if (buckets[code]++ == 0) {
+                                touched[touchedCount++] = code;
+                            }
+                        }
+                        score += single
+                                ? score(buckets, touched, touchedCount, end - start)
+                                : weights[b] * boardScore(buckets, touched, touchedCount, end - start);
+                        clear(buckets, touched, touchedCount);
+                    }
+                }
+
+                Best current = new Best(guess, score, candidates.get(guess));
+                if (current.isBetterThan(best)) {
+                    best = current;
+                }
+            }
+            return best;
+        }
+    }
+
+    private static void clear(int[] buckets, int[] touched, int touchedCount) {
+        for (int i = 0; i < touchedCount; i++) {
+            buckets[touched[i]] = 0;
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package ru.yandex.practicum;
+
+public class SessionLimitException extends RuntimeException {
+    public SessionLimitException(String message) {
+        super(message);
+    }
+}
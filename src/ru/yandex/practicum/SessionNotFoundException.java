@@ -0,0 +1,7 @@
+package ru.yandex.practicum;
+
+public class SessionNotFoundException extends RuntimeException {
+    public SessionNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,175 @@
+package ru.yandex.practicum;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+Общий для многих игр кэш подсказок. Множество кандидатов, а значит и подсказка стратегии,
+зависит только от набора пар (слово, код подсказки), но не от их порядка. Поэтому ключ — отсортированный
+набор таких пар, и игры с одинаковыми первыми ходами получают готовую подсказку без пересчёта.
+Значение — индекс предложенного слова и число кандидатов, при котором оно было выбрано.
+
+Размер ограничен: кэш разбит на сегменты с вытеснением давно не использованных записей (LRU),
+каждый сегмент под своей блокировкой, так что игры в разных потоках почти не мешают друг другу.
+Кэш привязан к словарю и к одной стратегии — для другой стратегии нужен свой кэш.
+*/
+public class SuggestionCache {
+
+    private static final int SEGMENTS = 16;
+
+    private final WordleDictionary dictionary;
+    private final Segment[] segments = new Segment[SEGMENTS];
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public SuggestionCache(WordleDictionary dictionary, int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries должен быть положительным: " + maxEntries);
+        }
+        this.dictionary = dictionary;
+        int perSegment = Math.max(1, (maxEntries + SEGMENTS - 1) / SEGMENTS);
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(perSegment);
+        }
+    }
+
+    public WordleDictionary getDictionary() {
+        return dictionary;
+    }
+
+    /*
+     Ищет подсказку для истории из count ходов: guesses — индексы слов, codes — коды подсказок.
+     candidateCount — текущее число кандидатов: запись с другим числом считается промахом
+     (так защищаемся от ошибочного использования кэша с другим словарём).
+     Возвращает индекс слова или -1, если подсказки в кэше нет.
+     */
+    public int get(int[] guesses, int[] codes, int count, int candidateCount) {
+        HistoryKey key = new HistoryKey(guesses, codes, count);
+        Suggestion suggestion = segmentFor(key).get(key);
+
+        if (suggestion == null || suggestion.candidateCount != candidateCount) {
+            misses.increment();
+            return -1;
+        }
+        hits.increment();
+        return suggestion.wordIndex;
+    }
+
+    public void put(int[] guesses, int[] codes, int count, int wordIndex, int candidateCount) {
+        HistoryKey key = new HistoryKey(guesses, codes, count);
+        segmentFor(key).put(key, new Suggestion(wordIndex, candidateCount));
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public double getHitRate() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0 : (double) h / total;
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    public String formatStats() {
+        return String.format("Кэш подсказок: записей %d, попаданий %d, промахов %d (%.1f%%), вытеснено %d",
+                size(), getHits(), getMisses(), getHitRate() * 100, getEvictions());
+    }
+
+    private Segment segmentFor(HistoryKey key) {
+        int h = key.hash;
+        return segments[(h ^ (h >>> 16)) & (SEGMENTS - 1)];
+    }
+
+    private static final class Suggestion {
+        final int wordIndex;
+        final int candidateCount;
+
+        Suggestion(int wordIndex, int candidateCount) {
+            this.wordIndex = wordIndex;
+            this.candidateCount = candidateCount;
+        }
+    }
+
+    // Каноническая история: пары (слово << 32 | код) по возрастанию, без повторов
+    private static final class HistoryKey {
+        final long[] moves;
+        final int hash;
+
+        HistoryKey(int[] guesses, int[] codes, int count) {
+            long[] moves = new long[count];
+            for (int i = 0; i < count; i++) {
+                moves[i] = ((long) guesses[i] << 32) | (codes[i] & 0xFFFFFFFFL);
+            }
+            Arrays.sort(moves);
+
+            int unique = 0;
+            for (int i = 0; i < count; i++) {
+                if (unique == 0 || moves[unique - 1] != moves[i]) {
+                    moves[unique++] = moves[i];
+                }
+            }
+            this.moves = unique == count ? moves : Arrays.copyOf(moves, unique);
+            this.hash = Arrays.hashCode(this.moves);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof HistoryKey && Arrays.equals(moves, ((HistoryKey) o).moves);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    // Сегмент — LinkedHashMap в порядке обращений под собственной блокировкой
+    private final class Segment {
+        private final Map<HistoryKey, Suggestion> map;
+
+        Segment(int capacity) {
+            this.map = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<HistoryKey, Suggestion> eldest) {
+                    if (size() > capacity) {
+                        evictions.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+
+        synchronized Suggestion get(HistoryKey key) {
+            return map.get(key);
+        }
+
+        synchronized void put(HistoryKey key, Suggestion value) {
+            map.put(key, value);
+        }
+
+        synchronized int size() {
+            return map.size();
+        }
+    }
+}
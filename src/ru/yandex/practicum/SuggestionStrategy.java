@@ -0,0 +1,57 @@
+package ru.yandex.practicum;
+
+/*
+Политика выбора слова-подсказки.
+Получает словарь, источник подсказок и текущее множество кандидатов
+(слов, согласующихся со всеми ходами) и возвращает индекс слова в словаре или -1.
+*/
+public interface SuggestionStrategy {
+
+    int suggest(WordleDictionary dictionary, ClueSource clues, WordBitSet candidates);
+
+    /*
+     То же с историей игры: count ходов guesses и полученные на них коды codes.
+     Обычным стратегиям хватает множества кандидатов; история нужна, например, дебютной книге.
+     */
+    default int suggest(WordleDictionary dictionary, ClueSource clues, WordBitSet candidates,
+                        int[] guesses, int[] codes, int count) {
+        return suggest(dictionary, clues, candidates);
+    }
+
+    /*
+     Подсказка для игры на нескольких досках (см. MultiBoardGame): boards — множества кандидатов
+     нерешённых досок. По умолчанию — подсказка для доски с наименьшим числом кандидатов;
+     оценивающие стратегии выбирают слово сразу по всем доскам.
+     */
+    default int suggest(WordleDictionary dictionary, ClueSource clues, WordBitSet[] boards) {
+        WordBitSet smallest = null;
+        int smallestCount = Integer.MAX_VALUE;
+        for (WordBitSet board : boards) {
+            int count = board.cardinality();
+            if (count > 0 && count < smallestCount) {
+                smallest = board;
+                smallestCount = count;
+            }
+        }
+        return smallest == null ? -1 : suggest(dictionary, clues, smallest);
+    }
+
+    /*
+     Стратегия по имени: first, entropy, minimax, expected.
+     budgetMillis — бюджет времени для оценивающих стратегий.
+     */
+    static SuggestionStrategy byName(String name, long budgetMillis) {
+        switch (name) {
+            case "first":
+                return new FirstConsistentStrategy();
+            case "entropy":
+                return new MaxInformationStrategy(budgetMillis);
+            case "minimax":
+                return new MinimaxStrategy(budgetMillis);
+            case "expected":
+                return new ExpectedSizeStrategy(budgetMillis);
+            default:
+                throw new IllegalArgumentException("Неизвестная стратегия: " + name);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package ru.yandex.practicum;
+
+import java.util.Arrays;
+
+/*
+Множество индексов слов словаря в виде битовой маски long[].
+Бит i установлен, если слово с индексом i входит в множество.
+Используется для кандидатов в WordleGame и для индексов по буквам.
+*/
+public class WordBitSet {
+
+    private final long[] bits;
+    private final int capacity;
+
+    public WordBitSet(int capacity) {
+        this.capacity = capacity;
+        this.bits = new long[(capacity + 63) >>> 6];
+    }
+
+    private WordBitSet(int capacity, long[] bits) {
+        this.capacity = capacity;
+        this.bits = bits;
+    }
+
+    // Множество, содержащее все индексы 0..capacity-1
+    public static WordBitSet full(int capacity) {
+        WordBitSet set = new WordBitSet(capacity);
+        Arrays.fill(set.bits, -1L);
+        set.trimTail();
+        return set;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public boolean get(int index) {
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    public void set(int index) {
+        bits[index >>> 6] |= 1L << index;
+    }
+
+    public void clear(int index) {
+        bits[index >>> 6] &= ~(1L << index);
+    }
+
+    public int cardinality() {
+        int count = 0;
+        for (long word : bits) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    public boolean isEmpty() {
+        for (long word : bits) {
+            if (word != 0) return false;
+        }
+        return true;
+    }
+
+    // Индекс первого установленного бита, начиная с from, или -1
+    public int nextSetBit(int from) {
+        if (from >= capacity) return -1;
+        int w = from >>> 6;
+        long word = bits[w] & (-1L << from);
+
+        while (true) {
+            if (word != 0) {
+                return (w << 6) + Long.numberOfTrailingZeros(word);
+            }
+            if (++w == bits.length) return -1;
+            word = bits[w];
+        }
+    }
+
+    // Пересечение с другим множеством (на месте)
+    public void and(WordBitSet other) {
+        for (int i = 0; i < bits.length; i++) {
+            bits[i] &= other.bits[i];
+        }
+    }
+
+    // Разность с другим множеством (на месте)
+    public void andNot(WordBitSet other) {
+        for (int i = 0; i < bits.length; i++) {
+            bits[i] &= ~other.bits[i];
+        }
+    }
+
+    // Объединение с другим множеством (на месте)
+    public void or(WordBitSet other) {
+        for (int i = 0; i < bits.length; i++) {
+            bits[i] |= other.bits[i];
+        }
+    }
+
+    public WordBitSet copy() {
+        return new WordBitSet(capacity, bits.clone());
+    }
+
+    // Индексы установленных битов по возрастанию
+    public int[] toArray() {
+        int[] res = new int[cardinality()];
+        int k = 0;
+        for (int i = nextSetBit(0); i >= 0; i = nextSetBit(i + 1)) {
+            res[k++] = i;
+        }
+        return res;
+    }
+
+    // Обнуляет биты за пределами capacity в последнем слове
+    private void trimTail() {
+        int tail = capacity & 63;
+        if (tail != 0) {
+            bits[bits.length - 1] &= (1L << tail) - 1;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package ru.yandex.practicum;
+
+/*
+Набор слов в раскладке "по столбцам" (structure of arrays): column(p)[i] — код буквы
+на позиции p у i-го слова набора, letterMasks()[i] — множество букв слова битами 0..31.
+Пакетный подсчёт подсказок (WordleClue.computeClues) проходит такие столбцы простыми циклами
+по массивам, которые JIT разворачивает в векторные инструкции. Столбцы — int, а не byte:
+цикл с расширением byte -> int JIT 17 не векторизует, а память здесь не важна (4 байта на букву слова).
+*/
+public final class WordColumns {
+
+    private final int[][] columns;
+    private final int[] letterMasks;
+    private final int size;
+
+    private WordColumns(int[][] columns, int[] letterMasks, int size) {
+        this.columns = columns;
+        this.letterMasks = letterMasks;
+        this.size = size;
+    }
+
+    // Все слова словаря в порядке их индексов
+    public static WordColumns of(WordleDictionary dictionary) {
+        int n = dictionary.size();
+        int[][] columns = new int[dictionary.getWordLength()][n];
+        int[] letterMasks = new int[n];
+        for (int i = 0; i < n; i++) {
+            letterMasks[i] = put(columns, i, dictionary.packedAt(i));
+        }
+        return new WordColumns(columns, letterMasks, n);
+    }
+
+    // Слова словаря с индексами indices[0..count) в этом порядке
+    public static WordColumns of(WordleDictionary dictionary, int[] indices, int count) {
+        int[][] columns = new int[dictionary.getWordLength()][count];
+        int[] letterMasks = new int[count];
+        for (int i = 0; i < count; i++) {
+            letterMasks[i] = put(columns, i, dictionary.packedAt(indices[i]));
+        }
+        return new WordColumns(columns, letterMasks, count);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int wordLength() {
+        return columns.length;
+    }
+
+    int[] column(int position) {
+        return columns[position];
+    }
+
+    int[] letterMasks() {
+        return letterMasks;
+    }
+
+    // Раскладывает слово по столбцам и возвращает множество его букв
+    private static int put(int[][] columns, int i, long packed) {
+        int mask = 0;
+        for (int p = 0; p < columns.length; p++) {
+            int letter = PackedWord.letterAt(packed, p);
+            columns[p][i] = letter;
+            mask |= 1 << letter;
+        }
+        return mask;
+    }
+}
@@ -2,53 +2,133 @@ package ru.yandex.practicum;
 
 import java.io.*;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
 import java.util.Scanner;
+import java.util.concurrent.ThreadLocalRandom;
 
 /*
 Главный класс игры Wordle.
 Поддерживает два режима:
 1) Пользователь вводит слова сам.
 2) Если пользователь нажимает Enter, компьютер делает ход сам, используя подсказки.
+С аргументом --simulate вместо игры запускается пакетный прогон (см. WordleSimulation),
+с аргументом --boards=N — игра сразу на N досках (см. MultiBoardGame),
+с аргументом --length=N — игра словами из N букв (от 4 до 8, по умолчанию 5).
+Ходы пишутся в журнал игр (см. GameJournal); игра, прерванная на середине, при следующем запуске
+продолжается с того же хода.
 */
 public class Wordle {
 
     private static final String DICTIONARY_FILE = "words_ru.txt";
     private static final String LOG_FILE = "wordle.log";
+    private static final String JOURNAL_DIRECTORY = "journal";
+    private static final long HINT_BUDGET_MILLIS = 500; // сколько компьютер может думать над подсказкой
 
     public static void main(String[] args) {
         try {
-            runGame();
+            if (args.length > 0 && args[0].equals("--simulate")) {
+                runSimulation(args);
+                return;
+            }
+
+            int boards = 1;
+            int length = WordleDictionary.DEFAULT_WORD_LENGTH;
+            for (String arg : args) {
+                String value = arg.substring(arg.indexOf('=') + 1);
+                if (arg.startsWith("--boards=")) {
+                    boards = Integer.parseInt(value);
+                } else if (arg.startsWith("--length=")) {
+                    length = Integer.parseInt(value);
+                } else {
+                    System.out.println("Неизвестный параметр: " + arg);
+                    return;
+                }
+            }
+            WordleDictionary.checkWordLength(length);
+            if (boards > 1) {
+                runBoards(boards, length);
+            } else {
+                runGame(length);
+            }
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
         } catch (Exception e) {
             System.out.println("Произошла непредвиденная ошибка. Смотрите лог.");
         }
     }
 
-    private static void runGame() {
+    private static void runGame(int length) {
         try (PrintWriter logWriter = new PrintWriter(
-                new OutputStreamWriter(new FileOutputStream(LOG_FILE), StandardCharsets.UTF_8))) {
+                new OutputStreamWriter(new FileOutputStream(LOG_FILE, true), StandardCharsets.UTF_8));
+             AsyncLogger logger = AsyncLogger.start(logWriter);
+             GameJournal journal = GameJournal.open(Path.of(JOURNAL_DIRECTORY), logger)) {
 
-            Logger logger = new Logger(logWriter);
             // Загружаем словарь
             WordleDictionaryLoader loader = new WordleDictionaryLoader(logger);
-            WordleDictionary dictionary = loader.load(DICTIONARY_FILE);
-            // Создаём игру
-            WordleGame game = new WordleGame(dictionary, logger);
+            WordleDictionary dictionary = loader.load(DICTIONARY_FILE, length);
+            // Таблица подсказок: строится при первом запуске, затем читается из файла рядом со словарём
+            ClueMatrix clueMatrix = ClueMatrix.loadOrBuildIfAffordable(dictionary, Path.of(DICTIONARY_FILE), logger);
+            // Создаём игру; если рядом со словарём есть дебютная книга, первые подсказки берутся из неё
+            SuggestionStrategy strategy = strategyWithBook(dictionary, new MaxInformationStrategy(HINT_BUDGET_MILLIS),
+                    logger);
+            // Незаконченная игра из журнала продолжается, иначе начинается новая
+            List<GameRecord> unfinished = new GameJournalReader(Path.of(JOURNAL_DIRECTORY)).unfinishedGames(dictionary);
+            GameRecord last = unfinished.isEmpty() ? null : unfinished.get(unfinished.size() - 1);
+            WordleGame game = last != null ? resume(last, dictionary, clueMatrix, strategy, logger) : null;
+            long gameId = game != null ? last.getGameId() : ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE;
+            if (game == null) {
+                game = new WordleGame(dictionary, logger, clueMatrix, strategy);
+                journal.append(gameId, game);
+            }
 
             try (Scanner scanner = new Scanner(System.in, StandardCharsets.UTF_8)) {
-                play(game, scanner, logger);
+                play(game, scanner, logger, journal, gameId);
             }
 
         } catch (DictionaryLoadException e) {
             logAndShowError(e, "Ошибка загрузки словаря");
         } catch (FileNotFoundException e) {
             System.out.println("Не удалось создать файл лога: " + e.getMessage());
+        } catch (IOException e) {
+            logAndShowError(e, "Ошибка журнала игр");
         } catch (Throwable t) {
             logAndShowError(t, "Непредвиденная ошибка");
         }
     }
 
-    private static void play(WordleGame game, Scanner scanner, Logger logger) {
-        System.out.println("Игра Wordle. Попробуйте угадать слово из 5 букв. У вас 6 попыток.");
+    /*
+     Игра на нескольких досках: одно слово проверяется сразу на всех досках.
+     Журнал игр хранит только игры на одной доске, поэтому такие игры в него не пишутся.
+     */
+    private static void runBoards(int boards, int length) {
+        try (PrintWriter logWriter = new PrintWriter(
+                new OutputStreamWriter(new FileOutputStream(LOG_FILE, true), StandardCharsets.UTF_8));
+             AsyncLogger logger = AsyncLogger.start(logWriter)) {
+
+            WordleDictionary dictionary = new WordleDictionaryLoader(logger).load(DICTIONARY_FILE, length);
+            ClueMatrix clueMatrix = ClueMatrix.loadOrBuildIfAffordable(dictionary, Path.of(DICTIONARY_FILE), logger);
+            MultiBoardGame game = new MultiBoardGame(dictionary, logger, clueMatrix,
+                    new MaxInformationStrategy(HINT_BUDGET_MILLIS), boards);
+
+            try (Scanner scanner = new Scanner(System.in, StandardCharsets.UTF_8)) {
+                playBoards(game, scanner, logger);
+            }
+
+        } catch (DictionaryLoadException e) {
+            logAndShowError(e, "Ошибка загрузки словаря");
+        } catch (FileNotFoundException e) {
+            System.out.println("Не удалось создать файл лога: " + e.getMessage());
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+        } catch (Throwable t) {
+            logAndShowError(t, "Непредвиденная ошибка");
+        }
+    }
+
+    private static void playBoards(MultiBoardGame game, Scanner scanner, Logger logger) {
+        System.out.printf("Игра Wordle на %d досках. Угадайте %d слов из %d букв за %d попыток.%n",
+                game.getBoardCount(), game.getBoardCount(), game.getDictionary().getWordLength(), game.getMaxSteps());
 
         while (!game.isFinished()) {
             System.out.printf(
@@ -57,7 +137,166 @@ public class Wordle {
             );
 
             String input = scanner.nextLine().trim();
+            String word = input.isEmpty() ? game.suggest() : WordleDictionary.normalizeWord(input);
+            if (word == null) {
+                System.out.println("Подходящих подсказок не найдено.");
+                continue;
+            }
+            if (input.isEmpty()) {
+                System.out.println("Подсказка (ход компьютера): " + word);
+            }
+
+            try {
+                String[] clues = game.makeGuess(word);
+                System.out.println(word);
+                StringBuilder line = new StringBuilder();
+                for (int b = 0; b < clues.length; b++) {
+                    if (b > 0) line.append("  ");
+                    line.append(clues[b] != null ? clues[b] : "угадано");
+                }
+                System.out.println(line);
+            } catch (InvalidWordException | WordNotFoundInDictionaryException e) {
+                System.out.println(e.getMessage());
+                logger.logError("Ошибка хода пользователя", e);
+            }
+        }
+
+        for (int b = 0; b < game.getBoardCount(); b++) {
+            System.out.printf("Доска %d: %s%s%n", b + 1, game.getAnswer(b),
+                    game.isSolved(b) ? " — угадано на ходу " + game.getSolvedAtMove(b) : " — не угадано");
+        }
+        System.out.println(game.isWon() ? "Поздравляем! Все слова угаданы." : "К сожалению, попытки закончились.");
+    }
+
+    /*
+     Пакетный прогон игр. Параметры вида --имя=значение:
+     strategy (first, entropy, minimax, expected), budget (мс на подсказку),
+     sample (число игр, по умолчанию весь словарь), seed, threads,
+     cache (размер общего кэша подсказок, по умолчанию без кэша),
+     book (true — использовать дебютную книгу рядом со словарём, см. OpeningBook),
+     journal (каталог журнала, куда записать сыгранные игры, см. GameJournal),
+     metrics (true — собрать и напечатать метрики горячих путей, см. Metrics),
+     length (длина слов, от 4 до 8, по умолчанию 5).
+     */
+    private static void runSimulation(String[] args) {
+        String strategyName = "entropy";
+        long budget = HINT_BUDGET_MILLIS;
+        int sample = 0;
+        long seed = 1;
+        int threads = Runtime.getRuntime().availableProcessors();
+        int cacheSize = 0;
+        boolean useBook = false;
+        String journalDirectory = null;
+        int length = WordleDictionary.DEFAULT_WORD_LENGTH;
 
+        for (int i = 1; i < args.length; i++) {
+            String arg = args[i];
+            String value = arg.substring(arg.indexOf('=') + 1);
+            if (arg.startsWith("--strategy=")) {
+                strategyName = value;
+            } else if (arg.startsWith("--budget=")) {
+                budget = Long.parseLong(value);
+            } else if (arg.startsWith("--sample=")) {
+                sample = Integer.parseInt(value);
+            } else if (arg.startsWith("--seed=")) {
+                seed = Long.parseLong(value);
+            } else if (arg.startsWith("--threads=")) {
+                threads = Integer.parseInt(value);
+            } else if (arg.startsWith("--cache=")) {
+                cacheSize = Integer.parseInt(value);
+            } else if (arg.startsWith("--book=")) {
+                useBook = Boolean.parseBoolean(value);
+            } else if (arg.startsWith("--journal=")) {
+                journalDirectory = value;
+            } else if (arg.startsWith("--metrics=")) {
+                Metrics.setEnabled(Boolean.parseBoolean(value));
+            } else if (arg.startsWith("--length=")) {
+                length = Integer.parseInt(value);
+            } else {
+                System.out.println("Неизвестный параметр: " + arg);
+                return;
+            }
+        }
+
+        try {
+            Logger logger = Logger.discarding();
+            WordleDictionary dictionary = new WordleDictionaryLoader(logger).load(DICTIONARY_FILE, length);
+            ClueMatrix clueMatrix = ClueMatrix.loadOrBuildIfAffordable(dictionary, Path.of(DICTIONARY_FILE), logger);
+            SuggestionStrategy strategy = SuggestionStrategy.byName(strategyName, budget);
+            if (useBook) {
+                strategy = strategyWithBook(dictionary, strategy, logger);
+                if (!(strategy instanceof OpeningBookStrategy)) {
+                    System.out.println("Дебютная книга не найдена или не подходит к словарю");
+                }
+            }
+
+            System.out.printf("Стратегия: %s, словарь: %d слов из %d букв, потоков: %d%n",
+                    strategyName, dictionary.size(), length, threads);
+            SuggestionCache cache = cacheSize > 0 ? new SuggestionCache(dictionary, cacheSize) : null;
+            GameJournal journal = journalDirectory != null ? GameJournal.open(Path.of(journalDirectory), logger) : null;
+            try {
+                WordleSimulation simulation = new WordleSimulation(dictionary, clueMatrix, strategy, cache, journal,
+                        threads);
+                System.out.print(simulation.runSample(sample, seed).format());
+            } finally {
+                if (journal != null) {
+                    journal.close();
+                }
+            }
+            if (cache != null) {
+                System.out.println(cache.formatStats());
+            }
+            if (Metrics.isEnabled()) {
+                System.out.print(Metrics.format());
+            }
+        } catch (DictionaryLoadException e) {
+            System.out.println("Ошибка загрузки словаря: " + e.getMessage());
+        } catch (IOException e) {
+            System.out.println("Ошибка журнала игр: " + e.getMessage());
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+        }
+    }
+
+    // Дебютная книга строится для словаря из 5 букв по умолчанию; для других длин подсказывает сама стратегия
+    private static SuggestionStrategy strategyWithBook(WordleDictionary dictionary, SuggestionStrategy strategy,
+                                                       Logger logger) {
+        if (dictionary.getWordLength() != WordleDictionary.DEFAULT_WORD_LENGTH) {
+            return strategy;
+        }
+        return OpeningBookStrategy.withBookIfPresent(dictionary, Path.of(DICTIONARY_FILE), strategy, logger);
+    }
+
+    // Восстанавливает игру из журнала и показывает уже сделанные ходы; null — если повторить ходы не удалось
+    private static WordleGame resume(GameRecord record, WordleDictionary dictionary, ClueMatrix clueMatrix,
+                                     SuggestionStrategy strategy, Logger logger) {
+        try {
+            WordleGame game = record.replay(dictionary, logger, clueMatrix, strategy, null);
+            System.out.println("Продолжаем прерванную игру. Сделанные ходы:");
+            for (int i = 0; i < game.getGuessCount(); i++) {
+                System.out.println(dictionary.wordAt(game.getGuessIndex(i)));
+                System.out.println(WordleClue.decode(game.getClueCode(i), dictionary.getWordLength()));
+            }
+            return game;
+        } catch (RuntimeException e) {
+            logger.logError("Не удалось продолжить игру из журнала", e);
+            return null;
+        }
+    }
+
+    private static void play(WordleGame game, Scanner scanner, Logger logger, GameJournal journal, long gameId) {
+        System.out.printf("Игра Wordle. Попробуйте угадать слово из %d букв. У вас %d попыток.%n",
+                game.getDictionary().getWordLength(), WordleGame.MAX_STEPS);
+
+        while (!game.isFinished()) {
+            System.out.printf(
+                    "Осталось попыток: %d. Введите слово (или Enter для подсказки):%n",
+                    game.getRemainingSteps()
+            );
+
+            String input = scanner.nextLine().trim();
+
+            int moves = game.getGuessCount();
             if (input.isEmpty()) {
                 // Игрок нажал Enter → компьютер делает ход
                 processComputerMove(game, logger);
@@ -65,6 +304,9 @@ public class Wordle {
                 // Игрок вводит слово сам
                 processUserMove(game, input, logger);
             }
+            if (game.getGuessCount() != moves) {
+                journal.append(gameId, game);
+            }
         }
         // Финальный результат
         printResult(game);
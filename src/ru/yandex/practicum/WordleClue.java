@@ -0,0 +1,372 @@
+package ru.yandex.practicum;
+
+import java.util.Arrays;
+
+/*
+Примитивный движок подсказок.
+Подсказка кодируется числом в троичной системе: разряд i соответствует позиции i слова
+(вес 3^i), значение разряда:
+0 — буквы нет в слове ("-")
+1 — буква есть, но на другой позиции ("^")
+2 — буква на своём месте ("+")
+Для слова из 5 букв код лежит в диапазоне 0..242, 242 — слово угадано; для 8 букв — 0..6560.
+Вычисление не создаёт объектов в куче, поэтому его можно звать в горячих циклах подсказчика.
+Для одного слова-попытки против многих слов есть пакетный вариант computeClues по столбцам букв (WordColumns).
+*/
+public final class WordleClue {
+
+    public static final int ABSENT = 0;
+    public static final int PRESENT = 1;
+    public static final int CORRECT = 2;
+
+    private static final char[] SYMBOLS = {'-', '^', '+'};
+    private static final int MAX_LENGTH = 16; // 3^16 ещё помещается в int
+
+    private static final int[] POW3 = new int[MAX_LENGTH + 1];
+
+    // Служебные биты в out[] пакетного подсчёта: маска точных совпадений и счётчик свободных экземпляров буквы
+    private static final int GREEN_SHIFT = 16;
+    private static final int AVAILABLE_SHIFT = 24;
+    static final int AVAILABLE_ONE = 1 << AVAILABLE_SHIFT;
+    static final int AVAILABLE_MASK = 0xF << AVAILABLE_SHIFT;
+    private static final int CODE_MASK = (1 << GREEN_SHIFT) - 1;
+    private static final int MAX_BATCH_LENGTH = 8;
+
+    static {
+        POW3[0] = 1;
+        for (int i = 1; i <= MAX_LENGTH; i++) {
+            POW3[i] = POW3[i - 1] * 3;
+        }
+    }
+
+    private static final String VECTOR_KERNEL_CLASS = "ru.yandex.practicum.WordleClueVector";
+
+    // Скалярное ядро: циклы ниже, которые JIT векторизует сам
+    static final ClueKernel SCALAR_KERNEL = new ClueKernel() {
+        @Override
+        public void markCorrect(int[] column, int letter, int add, int[] out, int n) {
+            WordleClue.markCorrect(column, letter, add, out, 0, n);
+        }
+
+        @Override
+        public void markSingleLetter(int[] masks, int letter, int shift, int add, int[] out, int n) {
+            WordleClue.markSingleLetter(masks, letter, shift, add, out, 0, n);
+        }
+
+        @Override
+        public void countAvailable(int[] column, int letter, int shift, int[] out, int n) {
+            WordleClue.countAvailable(column, letter, shift, out, 0, n);
+        }
+
+        @Override
+        public void takeAvailable(int shift, int add, int[] out, int n) {
+            WordleClue.takeAvailable(shift, add, out, 0, n);
+        }
+
+        @Override
+        public void keepBits(int[] out, int mask, int n) {
+            WordleClue.keepBits(out, mask, 0, n);
+        }
+    };
+
+    private static final ClueKernel VECTOR_KERNEL = loadVectorKernel();
+
+    /*
+     Векторное ядро включается только явно (-Dwordle.vector=true): по ClueBatchBenchmark на AVX-512
+     оно в 1,6–1,7 раза медленнее скалярных циклов, которые JIT векторизует сам.
+     */
+    private static final ClueKernel KERNEL = Boolean.getBoolean("wordle.vector") && VECTOR_KERNEL != null
+            ? VECTOR_KERNEL
+            : SCALAR_KERNEL;
+
+    private WordleClue() {
+    }
+
+    /*
+     Вычисляет код подсказки для пары слов одинаковой длины.
+     Повторяющиеся буквы обрабатываются так же, как раньше в WordleGame.computeClue:
+     сначала отмечаются точные совпадения, затем слева направо — буквы на чужих местах,
+     пока в ответе остаются неиспользованные экземпляры этой буквы.
+     */
+    public static int compute(String guess, String answer) {
+        int length = guess.length();
+        int used = 0;  // битовая маска использованных позиций ответа
+        int code = 0;
+
+        // 1. Точные совпадения
+        for (int i = 0; i < length; i++) {
+            if (guess.charAt(i) == answer.charAt(i)) {
+                used |= 1 << i;
+                code += CORRECT * POW3[i];
+            }
+        }
+
+        // 2. Буквы на других позициях
+        for (int i = 0; i < length; i++) {
+            if (guess.charAt(i) == answer.charAt(i)) continue;
+
+            char c = guess.charAt(i);
+            for (int j = 0; j < length; j++) {
+                if ((used & (1 << j)) == 0 && answer.charAt(j) == c) {
+                    used |= 1 << j;
+                    code += PRESENT * POW3[i];
+                    break;
+                }
+            }
+        }
+        return code;
+    }
+
+    // То же, что compute(String, String), но для массивов букв
+    public static int compute(char[] guess, char[] answer) {
+        int length = guess.length;
+        int used = 0;
+        int code = 0;
+
+        for (int i = 0; i < length; i++) {
+            if (guess[i] == answer[i]) {
+                used |= 1 << i;
+                code += CORRECT * POW3[i];
+            }
+        }
+
+        for (int i = 0; i < length; i++) {
+            if (guess[i] == answer[i]) continue;
+
+            char c = guess[i];
+            for (int j = 0; j < length; j++) {
+                if ((used & (1 << j)) == 0 && answer[j] == c) {
+                    used |= 1 << j;
+                    code += PRESENT * POW3[i];
+                    break;
+                }
+            }
+        }
+        return code;
+    }
+
+    /*
+     То же для упакованных слов (см. PackedWord) длины length.
+     Совпадение букв на позиции определяется по нулевым 5 битам в guess ^ answer.
+     Метрик здесь нет: метод зовут в самых внутренних циклах, счётчик CLUES_COMPUTED
+     пополняется пакетным подсчётом (computeClues) один раз за пакет.
+     */
+    public static int compute(long guess, long answer, int length) {
+        long diff = guess ^ answer;
+        int used = 0;
+        int code = 0;
+
+        for (int i = 0; i < length; i++) {
+            if (((diff >>> (i * PackedWord.BITS_PER_LETTER)) & 31) == 0) {
+                used |= 1 << i;
+                code += CORRECT * POW3[i];
+            }
+        }
+
+        int green = used;
+        for (int i = 0; i < length; i++) {
+            if ((green & (1 << i)) != 0) continue;
+
+            int c = PackedWord.letterAt(guess, i);
+            for (int j = 0; j < length; j++) {
+                if ((used & (1 << j)) == 0 && PackedWord.letterAt(answer, j) == c) {
+                    used |= 1 << j;
+                    code += PRESENT * POW3[i];
+                    break;
+                }
+            }
+        }
+        return code;
+    }
+
+    /*
+     Пакетный подсчёт: out[i] = compute(guess, i-е слово answers) для всех слов набора.
+     guess — упакованное слово (см. PackedWord) той же длины.
+     Каждый шаг — проход по массивам набора без ветвлений: условия записаны масками
+     (-1 — да, 0 — нет), чтобы JIT мог векторизовать циклы:
+     1) точные совпадения, с маской совпавших позиций в старших битах out;
+     2) буква, которая встречается в guess один раз, получает "^", если её позиция не совпала,
+        а буква есть в слове (по маске букв; на совпавшей позиции её быть не может);
+     3) для повторяющейся буквы guess сначала считается, сколько её экземпляров стоит в слове
+        на несовпавших позициях, затем вхождения в guess слева направо забирают их по одному —
+        ровно как проход слева направо в compute.
+     Проходы выполняют скалярные циклы ниже, которые векторизует сам JIT, или явное векторное ядро
+     WordleClueVector, если оно включено (-Dwordle.vector=true) и доступно (см. vectorKernel).
+     */
+    public static void computeClues(long guess, WordColumns answers, int[] out) {
+        computeClues(guess, answers, out, KERNEL);
+    }
+
+    // То же с явным выбором ядра (SCALAR_KERNEL или vectorKernel())
+    static void computeClues(long guess, WordColumns answers, int[] out, ClueKernel kernel) {
+        int n = answers.size();
+        int length = answers.wordLength();
+        if (length > MAX_BATCH_LENGTH) {
+            throw new IllegalArgumentException("Пакетный подсчёт поддерживает слова до " + MAX_BATCH_LENGTH + " букв");
+        }
+        if (out.length < n) {
+            throw new IllegalArgumentException("Массив out короче набора слов: " + out.length + " < " + n);
+        }
+        Metrics.count(Metrics.CLUES_COMPUTED, n);
+
+        // 1. Точные совпадения
+        Arrays.fill(out, 0, n, 0);
+        for (int p = 0; p < length; p++) {
+            int letter = PackedWord.letterAt(guess, p);
+            int add = CORRECT * POW3[p] + (1 << (GREEN_SHIFT + p));
+            kernel.markCorrect(answers.column(p), letter, add, out, n);
+        }
+
+        // 2-3. Буквы на других позициях, по каждой различной букве guess
+        int processed = 0;
+        for (int i = 0; i < length; i++) {
+            if ((processed & (1 << i)) != 0) continue;
+
+            int letter = PackedWord.letterAt(guess, i);
+            int positions = 0;
+            for (int j = i; j < length; j++) {
+                if (PackedWord.letterAt(guess, j) == letter) positions |= 1 << j;
+            }
+            processed |= positions;
+
+            if (Integer.bitCount(positions) == 1) {
+                int shift = GREEN_SHIFT + i;
+                kernel.markSingleLetter(answers.letterMasks(), letter, shift, PRESENT * POW3[i], out, n);
+            } else {
+                markRepeatedLetter(answers, letter, positions, out, kernel);
+            }
+        }
+
+        kernel.keepBits(out, CODE_MASK, n);
+    }
+
+    private static void markRepeatedLetter(WordColumns answers, int letter, int positions, int[] out,
+                                           ClueKernel kernel) {
+        int n = answers.size();
+
+        // Свободные экземпляры буквы копятся в битах AVAILABLE_SHIFT.. (не больше MAX_BATCH_LENGTH)
+        for (int p = 0; p < answers.wordLength(); p++) {
+            kernel.countAvailable(answers.column(p), letter, GREEN_SHIFT + p, out, n);
+        }
+
+        for (int p = 0; p < answers.wordLength(); p++) {
+            if ((positions & (1 << p)) == 0) continue;
+            int add = PRESENT * POW3[p] - AVAILABLE_ONE;
+            kernel.takeAvailable(GREEN_SHIFT + p, add, out, n);
+        }
+
+        kernel.keepBits(out, ~AVAILABLE_MASK, n);
+    }
+
+    // Проходы скалярного ядра по словам [from, n); WordleClueVector повторяет их на векторах и зовёт для хвоста
+
+    // Буква на своём месте: к out добавляется add (разряд "+" и бит совпавшей позиции)
+    static void markCorrect(int[] column, int letter, int add, int[] out, int from, int n) {
+        for (int a = from; a < n; a++) {
+            out[a] += add & equalMask(column[a], letter);
+        }
+    }
+
+    // Буква есть в слове, а её позиция (бит shift) не совпала
+    static void markSingleLetter(int[] masks, int letter, int shift, int add, int[] out, int from, int n) {
+        for (int a = from; a < n; a++) {
+            int present = (~out[a] >>> shift) & (masks[a] >>> letter) & 1;
+            out[a] += add & -present;
+        }
+    }
+
+    // Экземпляр буквы на несовпавшей позиции (бит shift) слова — ещё один свободный
+    static void countAvailable(int[] column, int letter, int shift, int[] out, int from, int n) {
+        for (int a = from; a < n; a++) {
+            int notGreen = ((out[a] >>> shift) & 1) - 1;
+            out[a] += AVAILABLE_ONE & equalMask(column[a], letter) & notGreen;
+        }
+    }
+
+    // Вхождение guess на несовпавшей позиции забирает свободный экземпляр, если он остался
+    static void takeAvailable(int shift, int add, int[] out, int from, int n) {
+        for (int a = from; a < n; a++) {
+            int v = out[a];
+            int notGreen = ((v >>> shift) & 1) - 1;
+            int available = -(v & AVAILABLE_MASK) >> 31;
+            out[a] = v + (add & notGreen & available);
+        }
+    }
+
+    static void keepBits(int[] out, int mask, int from, int n) {
+        for (int a = from; a < n; a++) {
+            out[a] &= mask;
+        }
+    }
+
+    // Векторное ядро или null, если оно недоступно при этом запуске
+    static ClueKernel vectorKernel() {
+        return VECTOR_KERNEL;
+    }
+
+    /*
+     Векторное ядро компилируется отдельно (модуль vector, флаг --add-modules jdk.incubator.vector)
+     и загружается по имени: без модуля jdk.incubator.vector при запуске, без класса на classpath
+     или с векторами короче 4 int остаётся скалярное ядро.
+     */
+    private static ClueKernel loadVectorKernel() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return null;
+        }
+        try {
+            return (ClueKernel) Class.forName(VECTOR_KERNEL_CLASS).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError | UnsupportedOperationException e) {
+            return null;
+        }
+    }
+
+    // -1, если коды букв равны, иначе 0 (коды букв 0..31)
+    private static int equalMask(int a, int b) {
+        return ((a ^ b) - 1) >> 31;
+    }
+
+    // Код подсказки "все буквы на своих местах" для слова заданной длины
+    public static int allCorrect(int length) {
+        return POW3[length] - 1;
+    }
+
+    // Количество различных кодов подсказок для слова заданной длины
+    public static int codeCount(int length) {
+        return POW3[length];
+    }
+
+    // Значение разряда (ABSENT, PRESENT или CORRECT) для позиции pos
+    public static int digitAt(int code, int pos) {
+        return (code / POW3[pos]) % 3;
+    }
+
+    // Превращает код подсказки в строку из символов "+^-"
+    public static String decode(int code, int length) {
+        char[] res = new char[length];
+        for (int i = 0; i < length; i++) {
+            res[i] = SYMBOLS[code % 3];
+            code /= 3;
+        }
+        return new String(res);
+    }
+
+    // Обратное преобразование: строка из символов "+^-" в код подсказки
+    public static int encode(String clue) {
+        int code = 0;
+        for (int i = 0; i < clue.length(); i++) {
+            switch (clue.charAt(i)) {
+                case '+':
+                    code += CORRECT * POW3[i];
+                    break;
+                case '^':
+                    code += PRESENT * POW3[i];
+                    break;
+                case '-':
+                    break;
+                default:
+                    throw new IllegalArgumentException("Недопустимый символ подсказки: " + clue.charAt(i));
+            }
+        }
+        return code;
+    }
+}
@@ -3,39 +3,198 @@ package ru.yandex.practicum;
 import java.util.*;
 
 /*
-этот класс содержит в себе список слов List<String>
-его методы похожи на методы списка, но учитывают особенности игры
-также этот класс может содержать рутинные функции по сравнению слов, букв и т.д.
+этот класс хранит слова словаря упакованными в long (см. PackedWord) в массиве packedWords;
+индекс слова — позиция в массиве. Хэш-таблица на примитивах PackedWordIndex даёт проверку
+наличия слова и поиск индекса за O(1), а сам словарь строится за линейное время.
+Строки создаются только по запросу: wordAt распаковывает одно слово,
+getWords возвращает неизменяемое представление List<String> поверх того же массива без копирования.
+его методы учитывают особенности игры; также здесь рутинные функции по сравнению слов, букв и т.д.
+Все слова словаря одной длины (от MIN_WORD_LENGTH до MAX_WORD_LENGTH, по умолчанию 5);
+словари других длин из того же файла даёт PartitionedDictionary.
 */
 
 public class WordleDictionary {
 
-    private final List<String> words;
+    private final long[] packedWords;
+    private final int wordLength;
+    private final PackedWordIndex indexByWord; // упакованное слово -> индекс
+    private final List<String> wordsView;
     private final Logger logger;
-    private static final int WORD_LENGTH = 5;
+    private volatile LetterIndex letterIndex; // строится при первом обращении
+    private volatile Long contentHash;        // считается при первом обращении
+
+    public static final int DEFAULT_WORD_LENGTH = 5;
+    public static final int MIN_WORD_LENGTH = 4;
+    public static final int MAX_WORD_LENGTH = 8; // до 8 букв работает пакетный подсчёт подсказок (WordleClue)
+    public static final int ALPHABET_SIZE = 32; // а..я без ё (ё заменяется на е)
 
     public WordleDictionary(List<String> rawLines, Logger logger) {
+        this(rawLines, DEFAULT_WORD_LENGTH, logger);
+    }
+
+    // Словарь из слов длины wordLength; строки другой длины отбрасываются
+    public WordleDictionary(List<String> rawLines, int wordLength, Logger logger) {
+        this(builderOf(rawLines, wordLength), logger);
+    }
+
+    WordleDictionary(Builder builder, Logger logger) {
+        long start = Metrics.start();
         this.logger = logger;
+        this.packedWords = Arrays.copyOf(builder.packedWords, builder.size);
+        this.wordLength = builder.wordLength;
+        this.indexByWord = builder.indexByWord;
+        this.wordsView = new AbstractList<>() {
+            @Override
+            public String get(int index) {
+                return wordAt(index);
+            }
+
+            @Override
+            public int size() {
+                return packedWords.length;
+            }
 
-        List<String> dictionary = new ArrayList<>();
+            @Override
+            public boolean contains(Object o) {
+                return o instanceof String && WordleDictionary.this.contains((String) o);
+            }
 
+            @Override
+            public int indexOf(Object o) {
+                return o instanceof String ? WordleDictionary.this.indexOf((String) o) : -1;
+            }
+        };
+        logger.log(new LogEvent.DictionaryBuilt(packedWords.length));
+        Metrics.stop(Metrics.DICTIONARY_BUILD, start);
+    }
+
+    private static Builder builderOf(List<String> rawLines, int wordLength) {
+        Builder builder = new Builder(rawLines.size(), wordLength);
         for (String str : rawLines) {
-            String word = normalizeWord(str);
+            builder.add(normalizeWord(str));
+        }
+        return builder;
+    }
+
+    /*
+     Накопитель слов словаря. Принимает уже нормализованные или упакованные слова,
+     отбрасывает неподходящие по длине или алфавиту и повторы.
+     Используется загрузчиком, чтобы не собирать промежуточный список всех строк.
+     */
+    static final class Builder {
+        private long[] packedWords;
+        private int size;
+        private final int wordLength;
+        private final PackedWordIndex indexByWord;
+
+        Builder(int expectedWords, int wordLength) {
+            checkWordLength(wordLength);
+            this.packedWords = new long[Math.max(16, expectedWords)];
+            this.wordLength = wordLength;
+            this.indexByWord = new PackedWordIndex(expectedWords);
+        }
+
+        // Добавляет слово; возвращает false, если слово не подходит или уже есть
+        boolean add(String normalizedWord) {
+            if (normalizedWord.length() != wordLength || !isAlphabetic(normalizedWord)) {
+                return false;
+            }
+            return addPacked(PackedWord.pack(normalizedWord));
+        }
+
+        // Добавляет уже упакованное слово длины wordLength; возвращает false для повтора
+        boolean addPacked(long packedWord) {
+            if (!indexByWord.putIfAbsent(packedWord, size)) {
+                return false;
+            }
+            if (size == packedWords.length) {
+                packedWords = Arrays.copyOf(packedWords, size * 2);
+            }
+            packedWords[size++] = packedWord;
+            return true;
+        }
+    }
+
+    // Неизменяемое представление списка слов в порядке индексов; строки создаются при обращении
+    public List<String> getWords() {
+        return wordsView;
+    }
+
+    public int size() {
+        return packedWords.length;
+    }
+
+    public String wordAt(int index) {
+        return PackedWord.unpack(packedWords[index], wordLength);
+    }
+
+    // Упакованное слово с индексом index
+    public long packedAt(int index) {
+        return packedWords[index];
+    }
+
+    // Индекс слова в словаре или -1, если слова нет
+    public int indexOf(String word) {
+        if (word == null || word.length() != wordLength || !isAlphabetic(word)) {
+            return -1;
+        }
+        return indexByWord.get(PackedWord.pack(word));
+    }
+
+    // Индекс упакованного слова в словаре или -1, если слова нет
+    public int indexOfPacked(long packedWord) {
+        return indexByWord.get(packedWord);
+    }
+
+    public boolean contains(String word) {
+        return indexOf(word) >= 0;
+    }
 
-            if (isValidWordByLength(word)) {
-                if (!dictionary.contains(word)) {
-                    dictionary.add(word);
+    // Индекс по буквам и позициям; строится один раз при первом обращении
+    public LetterIndex getLetterIndex() {
+        LetterIndex index = letterIndex;
+        if (index == null) {
+            synchronized (this) {
+                index = letterIndex;
+                if (index == null) {
+                    long start = Metrics.start();
+                    index = new LetterIndex(this);
+                    Metrics.stop(Metrics.LETTER_INDEX_BUILD, start);
+                    letterIndex = index;
                 }
             }
         }
+        return index;
+    }
 
-        this.words = dictionary;
-        logger.log("Игровой словарь сформирован: " + words.size() + " слов");
+    public int getWordLength() {
+        return wordLength;
     }
 
+    // Бросает IllegalArgumentException, если словари такой длины не поддерживаются
+    public static void checkWordLength(int wordLength) {
+        if (wordLength < MIN_WORD_LENGTH || wordLength > MAX_WORD_LENGTH) {
+            throw new IllegalArgumentException("Длина слова должна быть от " + MIN_WORD_LENGTH + " до "
+                    + MAX_WORD_LENGTH + ": " + wordLength);
+        }
+    }
 
-    public List<String> getWords() {
-        return words;
+    /*
+     Хэш содержимого словаря (FNV-1a по упакованным словам в порядке индексов).
+     Служит ключом для файлов, построенных по словарю, например таблицы подсказок,
+     и для кадров журнала игр, поэтому запоминается: словарь не меняется.
+     */
+    public long contentHash() {
+        Long cached = contentHash;
+        if (cached != null) return cached;
+
+        long hash = 0xcbf29ce484222325L;
+        hash = (hash ^ wordLength) * 0x100000001b3L;
+        for (long word : packedWords) {
+            hash = (hash ^ word) * 0x100000001b3L;
+        }
+        contentHash = hash;
+        return hash;
     }
 
     /*
@@ -48,8 +207,20 @@ public class WordleDictionary {
         return s.trim().toLowerCase().replace('ё', 'е');
     }
 
-     //Проверяет, что слово длиной 5 букв
-    private static boolean isValidWordByLength(String w) {
-        return w.length() == WORD_LENGTH;
+    // Номер буквы в алфавите (0..31) или -1, если символ не является буквой а..я
+    public static int letterCode(char c) {
+        return c >= 'а' && c <= 'я' ? c - 'а' : -1;
+    }
+
+    public static char letterOf(int code) {
+        return (char) ('а' + code);
+    }
+
+    // Проверяет, что слово состоит только из букв алфавита (без дефисов, пробелов и т.п.)
+    private static boolean isAlphabetic(String w) {
+        for (int i = 0; i < w.length(); i++) {
+            if (letterCode(w.charAt(i)) < 0) return false;
+        }
+        return true;
     }
 }
@@ -1,52 +1,234 @@
 package ru.yandex.practicum;
 
-import java.io.*;
-import java.nio.charset.StandardCharsets;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /*
 этот класс содержит в себе всю рутину по работе с файлами словарей и с кодировками
     ему нужны методы по загрузке списка слов из файла по имени файла
     на выходе должен быть класс WordleDictionary
+Файл отображается в память, а UTF-8 декодируется прямо из буфера: строки неподходящей длины
+и с символами вне алфавита отбрасываются до создания String, в словарь попадают только подходящие слова.
+Большие файлы делятся на куски по границам строк и декодируются параллельно.
+Текст читается за один проход сразу для всех длин слов (loadAll, см. PartitionedDictionary);
+словарь нужной длины строится из своей части при первом запросе.
+Рядом с текстовым словарём хранится скомпилированный (см. CompiledDictionary): если он новее текста,
+загружается он, иначе словарь читается из текста и скомпилированный файл пересобирается.
  */
 
 public class WordleDictionaryLoader {
+    private static final int PARALLEL_THRESHOLD = 16 * 1024 * 1024; // с какого размера файла декодируем параллельно
+    private static final int CHUNK_SIZE = 4 * 1024 * 1024;
+
     private final Logger logger;
 
     public WordleDictionaryLoader(Logger logger) {
         this.logger = logger;
     }
 
-    //Читает файл словаря, нормализует слова и возвращает объект WordleDictionary
+    /*
+     Загружает словарь, предпочитая скомпилированный файл, если он не старше текстового.
+     Повреждённый или устаревший скомпилированный файл пересобирается из текста;
+     ошибка записи скомпилированного файла не мешает игре.
+     */
     public WordleDictionary load(String path) throws DictionaryLoadException {
-        List<String> all = new ArrayList<>();
-
-        try (BufferedReader br = new BufferedReader(new InputStreamReader(
-                new FileInputStream(path), StandardCharsets.UTF_8))) {
-
-            String line;
+        return load(path, WordleDictionary.DEFAULT_WORD_LENGTH);
+    }
 
-            while ((line = br.readLine()) != null) {
-                // нормализуем — приводим к нижнему регистру, удаляем лишнее
-                String normalized = WordleDictionary.normalizeWord(line);
+    // То же для слов длины wordLength; у каждой длины свой скомпилированный файл
+    public WordleDictionary load(String path, int wordLength) throws DictionaryLoadException {
+        WordleDictionary.checkWordLength(wordLength);
+        Path source = Path.of(path);
+        Path compiled = CompiledDictionary.compiledFileFor(source, wordLength);
 
-                if (!normalized.isEmpty()) {
-                    all.add(normalized);
+        if (isUpToDate(compiled, source)) {
+            try {
+                long start = Metrics.start();
+                WordleDictionary dictionary = CompiledDictionary.read(compiled, logger);
+                if (dictionary.getWordLength() != wordLength) {
+                    throw new IOException("Файл содержит слова длины " + dictionary.getWordLength());
                 }
+                Metrics.stop(Metrics.DICTIONARY_COMPILED_LOAD, start);
+                logger.log("Словарь загружен из скомпилированного файла " + compiled.getFileName());
+                return dictionary;
+            } catch (IOException e) {
+                logger.logError("Скомпилированный словарь не прочитан, загружаем текст", e);
             }
+        }
+
+        WordleDictionary dictionary = loadText(path, wordLength);
+        try {
+            CompiledDictionary.write(dictionary, compiled);
+        } catch (IOException e) {
+            logger.logError("Не удалось сохранить скомпилированный словарь: " + compiled, e);
+        }
+        return dictionary;
+    }
+
+    //Читает текстовый файл словаря, нормализует слова и возвращает объект WordleDictionary
+    public WordleDictionary loadText(String path) throws DictionaryLoadException {
+        return loadText(path, WordleDictionary.DEFAULT_WORD_LENGTH);
+    }
+
+    // То же для слов длины wordLength
+    public WordleDictionary loadText(String path, int wordLength) throws DictionaryLoadException {
+        WordleDictionary.checkWordLength(wordLength);
+        return loadAll(path).forLength(wordLength);
+    }
+
+    /*
+     Читает текстовый файл один раз и раскладывает слова всех поддерживаемых длин по частям
+     (см. PartitionedDictionary); сами словари строятся позже, по запросу длины.
+     */
+    public PartitionedDictionary loadAll(String path) throws DictionaryLoadException {
+        long startNanos = Metrics.start();
+        MappedByteBuffer buffer = map(path);
+        int start = hasBom(buffer) ? 3 : 0;
+        int end = buffer.limit();
+
+        List<PartitionedDictionary.Builder> chunks;
+        if (end - start >= PARALLEL_THRESHOLD) {
+            int[] bounds = chunkBounds(buffer, start, end);
+            chunks = IntStream.range(0, bounds.length - 1).parallel()
+                    .mapToObj(i -> decode(buffer, bounds[i], bounds[i + 1]))
+                    .collect(Collectors.toList());
+        } else {
+            chunks = List.of(decode(buffer, start, end));
+        }
+
+        // Куски сливаются по порядку, поэтому индексы слов не зависят от параллельности
+        PartitionedDictionary.Builder builder = chunks.get(0);
+        for (int i = 1; i < chunks.size(); i++) {
+            builder.addAll(chunks.get(i));
+        }
+
+        if (builder.lines() == 0) {
+            throw new EmptyDictionaryException("Словарь пуст: " + path);
+        }
+
+        logger.log(new LogEvent.DictionaryLoaded(builder.lines()));
+        PartitionedDictionary dictionary = builder.build(logger);
+        Metrics.stop(Metrics.DICTIONARY_TEXT_LOAD, startNanos);
+        return dictionary;
+    }
+
+    // Скомпилированный файл годится, если он есть и изменён не раньше текстового (или текста нет вовсе)
+    private static boolean isUpToDate(Path compiled, Path source) {
+        try {
+            if (!Files.isRegularFile(compiled)) return false;
+            if (!Files.exists(source)) return true;
+            return Files.getLastModifiedTime(compiled).compareTo(Files.getLastModifiedTime(source)) >= 0;
+        } catch (IOException e) {
+            return false;
+        }
+    }
 
-        } catch (FileNotFoundException e) {
+    private static MappedByteBuffer map(String path) throws DictionaryLoadException {
+        try (FileChannel channel = FileChannel.open(Path.of(path), StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new DictionaryLoadException("Файл словаря слишком велик: " + path);
+            }
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (NoSuchFileException e) {
             throw new DictionaryLoadException("Файл словаря не найден: " + path, e);
         } catch (IOException e) {
             throw new DictionaryLoadException("Ошибка чтения словаря: " + e.getMessage(), e);
         }
+    }
 
-        if (all.isEmpty()) {
-            throw new EmptyDictionaryException("Словарь пуст: " + path);
+    private static boolean hasBom(MappedByteBuffer buffer) {
+        return buffer.limit() >= 3
+                && (buffer.get(0) & 0xFF) == 0xEF
+                && (buffer.get(1) & 0xFF) == 0xBB
+                && (buffer.get(2) & 0xFF) == 0xBF;
+    }
+
+    // Границы кусков примерно по CHUNK_SIZE байт, каждая сдвинута на начало следующей строки
+    private static int[] chunkBounds(MappedByteBuffer buffer, int start, int end) {
+        List<Integer> bounds = new ArrayList<>();
+        bounds.add(start);
+
+        int pos = start;
+        while (end - pos > CHUNK_SIZE) {
+            pos += CHUNK_SIZE;
+            while (pos < end && buffer.get(pos - 1) != '\n') {
+                pos++;
+            }
+            bounds.add(pos);
         }
+        bounds.add(end);
+        return bounds.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    // Декодирует кусок файла: подходящие упакованные слова по длинам и число непустых строк
+    private static PartitionedDictionary.Builder decode(MappedByteBuffer buffer, int from, int to) {
+        PartitionedDictionary.Builder chunk = new PartitionedDictionary.Builder();
+        int pos = from;
+
+        while (pos < to) {
+            int end = pos;
+            while (end < to && buffer.get(end) != '\n') {
+                end++;
+            }
 
-        logger.log("Словарь загружен. Всего строк: " + all.size());
-        return new WordleDictionary(all, logger);
+            // как String.trim(): отбрасываем пробелы и управляющие символы по краям (в том числе '\r')
+            int s = pos;
+            int e = end;
+            while (s < e && (buffer.get(s) & 0xFF) <= ' ') s++;
+            while (e > s && (buffer.get(e - 1) & 0xFF) <= ' ') e--;
+
+            if (s < e) {
+                chunk.addLine();
+                decodeWord(buffer, s, e, chunk);
+            }
+            pos = end + 1;
+        }
+        return chunk;
+    }
+
+    /*
+     Декодирует строку UTF-8 сразу в упакованное нормализованное слово (см. PackedWord):
+     заглавные буквы → строчные, ё → е. Строка при этом не создаётся.
+     Слово добавляется в часть своей длины; строка короче MIN_WORD_LENGTH или длиннее MAX_WORD_LENGTH
+     символов или с символом вне алфавита а..я отбрасывается — такое слово всё равно не попадёт в словарь.
+     Русские буквы в UTF-8 занимают два байта: 0xD0 или 0xD1 и байт продолжения.
+     */
+    private static void decodeWord(MappedByteBuffer buffer, int from, int to, PartitionedDictionary.Builder chunk) {
+        int maxLength = WordleDictionary.MAX_WORD_LENGTH;
+        long packed = 0;
+        int n = 0;
+        int i = from;
+
+        while (i < to) {
+            if (n == maxLength) return;
+
+            int b1 = buffer.get(i) & 0xFF;
+            if ((b1 != 0xD0 && b1 != 0xD1) || i + 1 >= to) return;
+            int b2 = buffer.get(i + 1) & 0xFF;
+            i += 2;
+
+            char c = (char) (((b1 & 0x1F) << 6) | (b2 & 0x3F));
+            if (c >= 'А' && c <= 'Я') {
+                c = (char) (c + ('а' - 'А'));
+            } else if (c == 'ё' || c == 'Ё') {
+                c = 'е';
+            }
+            int letter = WordleDictionary.letterCode(c);
+            if (letter < 0) return;
+
+            packed |= (long) letter << (n++ * PackedWord.BITS_PER_LETTER);
+        }
+        if (n >= WordleDictionary.MIN_WORD_LENGTH) {
+            chunk.add(packed, n);
+        }
     }
-}
\ No newline at end of file
+}
@@ -1,10 +1,13 @@
 package ru.yandex.practicum;
 
-import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
 
 /*
 Основная логика игры Wordle.
 Хранит загаданное слово, историю попыток и вычисляет подсказки.
+Длина слов — длина слов словаря (см. WordleDictionary.getWordLength).
+Слова внутри игры — индексы словаря, подсказки — коды WordleClue; строки нужны только
+для ввода-вывода (makeGuess(String), suggest(), getAnswer()) и для лога.
 Подсказка формируется с помощью символов:
 +  — буква на своём месте
 ^  — буква есть в слове, но на другой позиции
@@ -12,109 +15,219 @@ import java.util.*;
 */
 public class WordleGame {
 
-    private final String answer;
+    private final int answerIndex;
     private int remainingSteps;
     private final WordleDictionary dictionary;
+    private final ClueSource clues;
+    private final SuggestionStrategy strategy;
+    private final SuggestionCache suggestionCache;          // может быть null
     private final Logger logger;
-    private static final int WORD_LENGTH = 5;
-    private static final int MAX_STEPS = 6;
+    public static final int MAX_STEPS = 6;
 
-    private final List<String> guesses = new ArrayList<>(); // введённые игроком слова
-    private final List<String> clues = new ArrayList<>();   // подсказки по каждому ходу
+    private final int[] guessIndices = new int[MAX_STEPS];  // индексы введённых слов в словаре
+    private final int[] clueCodes = new int[MAX_STEPS];     // полученные на них коды подсказок
+    private int guessCount;
+    private final WordBitSet candidates;                    // слова, согласующиеся со всеми подсказками
+    private int candidateCount;
 
     public WordleGame(WordleDictionary dictionary, Logger logger) {
+        this(dictionary, logger, null, new FirstConsistentStrategy());
+    }
+
+    /*
+     clueMatrix может быть null — тогда подсказки считаются на лету.
+     strategy определяет, какое слово предлагает компьютер в suggest().
+     */
+    public WordleGame(WordleDictionary dictionary, Logger logger, ClueMatrix clueMatrix,
+                      SuggestionStrategy strategy) {
+        this(dictionary, logger, clueMatrix, strategy, -1);
+    }
+
+    /*
+     answerIndex — индекс загаданного слова в словаре; -1 означает случайный выбор.
+     Заданный ответ нужен для прогона игр по всем словам словаря.
+     */
+    public WordleGame(WordleDictionary dictionary, Logger logger, ClueMatrix clueMatrix,
+                      SuggestionStrategy strategy, int answerIndex) {
+        this(dictionary, logger, clueMatrix, strategy, answerIndex, null);
+    }
+
+    /*
+     suggestionCache — общий для игр кэш подсказок этой стратегии (см. SuggestionCache) или null.
+     */
+    public WordleGame(WordleDictionary dictionary, Logger logger, ClueMatrix clueMatrix,
+                      SuggestionStrategy strategy, int answerIndex, SuggestionCache suggestionCache) {
         if (dictionary == null) {
             throw new IllegalArgumentException("dictionary == null");
         }
+        if (strategy == null) {
+            throw new IllegalArgumentException("strategy == null");
+        }
 
         this.dictionary = dictionary;
         this.logger = logger;
         this.remainingSteps = MAX_STEPS;
 
-        List<String> words = dictionary.getWords();
-        if (words.isEmpty()) {
+        if (dictionary.size() == 0) {
             throw new EmptyDictionaryException("Игровой словарь пуст");
         }
+        if (clueMatrix != null && clueMatrix.size() != dictionary.size()) {
+            throw new IllegalArgumentException("Таблица подсказок построена для другого словаря");
+        }
+        this.clues = clueMatrix != null ? clueMatrix : ClueSource.of(dictionary);
+        this.strategy = strategy;
+        if (suggestionCache != null && suggestionCache.getDictionary() != dictionary) {
+            throw new IllegalArgumentException("Кэш подсказок создан для другого словаря");
+        }
+        this.suggestionCache = suggestionCache;
 
-        Random random = new Random();
-        this.answer = words.get(random.nextInt(words.size())); // случайный выбор слова
+        if (answerIndex >= dictionary.size()) {
+            throw new IllegalArgumentException("Нет слова с индексом " + answerIndex);
+        }
+        // случайный выбор слова, если ответ не задан
+        this.answerIndex = answerIndex >= 0 ? answerIndex : ThreadLocalRandom.current().nextInt(dictionary.size());
+        this.candidates = WordBitSet.full(dictionary.size());
+        this.candidateCount = dictionary.size();
         logger.log("Загаданное слово выбрано.");
     }
 
+    /*
+     Восстанавливает игру по журналу (см. GameRecord): загадывает слово answerIndex и повторяет
+     count ходов guesses. Если полученные подсказки расходятся с codes, бросает IllegalStateException.
+     */
+    public static WordleGame replay(WordleDictionary dictionary, Logger logger, ClueMatrix clueMatrix,
+                                    SuggestionStrategy strategy, SuggestionCache suggestionCache,
+                                    int answerIndex, int[] guesses, int[] codes, int count) {
+        if (answerIndex < 0) {
+            throw new IllegalArgumentException("Нет слова с индексом " + answerIndex);
+        }
+        WordleGame game = new WordleGame(dictionary, logger, clueMatrix, strategy, answerIndex, suggestionCache);
+        for (int i = 0; i < count; i++) {
+            if (game.makeGuess(guesses[i]) != codes[i]) {
+                throw new IllegalStateException("Подсказка на ход " + (i + 1) + " не совпадает с журналом");
+            }
+        }
+        return game;
+    }
+
     public String getAnswer() {
-        return answer;
+        return dictionary.wordAt(answerIndex);
+    }
+
+    public WordleDictionary getDictionary() {
+        return dictionary;
+    }
+
+    public int getAnswerIndex() {
+        return answerIndex;
+    }
+
+    // Число сделанных ходов и сами ходы: индекс слова и код подсказки хода move
+    public int getGuessCount() {
+        return guessCount;
+    }
+
+    public int getGuessIndex(int move) {
+        if (move < 0 || move >= guessCount) {
+            throw new IndexOutOfBoundsException("Нет хода " + move);
+        }
+        return guessIndices[move];
+    }
+
+    public int getClueCode(int move) {
+        if (move < 0 || move >= guessCount) {
+            throw new IndexOutOfBoundsException("Нет хода " + move);
+        }
+        return clueCodes[move];
     }
 
     public int getRemainingSteps() {
         return remainingSteps;
     }
 
+    // Сколько слов словаря ещё согласуются со всеми полученными подсказками
+    public int getRemainingCandidates() {
+        return candidateCount;
+    }
+
     public boolean isFinished() {
         return remainingSteps <= 0 || isWon();
     }
 
     public boolean isWon() {
-        if (guesses.isEmpty()) return false;
+        if (guessCount == 0) return false;
         // берём последнее введённое слово и сравниваем с загаданным
-        return guesses.get(guesses.size() - 1).equals(answer);
+        return guessIndices[guessCount - 1] == answerIndex;
     }
 
     /*
      Обрабатывает попытку: проверяет слово, вычисляет подсказку "+^-",
-     сохраняет историю и уменьшает число оставшихся шагов.
+     сохраняет историю, сужает множество кандидатов и уменьшает число оставшихся шагов.
      */
     public String makeGuess(String guess) {
+        int guessIndex = GuessValidator.indexOf(dictionary, guess);
+        return WordleClue.decode(makeGuess(guessIndex), dictionary.getWordLength());
+    }
 
-        if (guess == null || guess.length() != WORD_LENGTH) {
-            throw new InvalidWordException("Слово должно состоять из " + WORD_LENGTH + " букв.");
-        }
-
-        if (!dictionary.getWords().contains(guess)) {
-            throw new WordNotFoundInDictionaryException("Слово отсутствует в словаре.");
+    // То же по индексу слова в словаре; возвращает код подсказки (см. WordleClue)
+    public int makeGuess(int guessIndex) {
+        GuessValidator.checkIndex(dictionary, guessIndex);
+        if (isFinished()) {
+            throw new IllegalStateException("Игра уже закончена");
         }
 
-        String clue = computeClue(guess, answer);
+        int code = clues.clue(guessIndex, answerIndex);
 
-        guesses.add(guess);
-        clues.add(clue);
+        guessIndices[guessCount] = guessIndex;
+        clueCodes[guessCount++] = code;
+        narrowCandidates(guessIndex, code);
         remainingSteps--;
+        GuessValidator.accepted();
 
-        logger.log("Ход: " + guess + " -> " + clue + ". Осталось: " + remainingSteps);
-        return clue;
+        logger.log(new LogEvent.Guess(dictionary, guessIndex, code, remainingSteps));
+        return code;
     }
 
     /*
      Возвращает слово-подсказку, учитывая всю историю ходов.
-     Компьютер выбирает первое подходящее слово из словаря, которое не было использовано
-     и соответствует всем предыдущим подсказкам.
+     Слово выбирает стратегия по текущему множеству кандидатов — слов,
+     которые не были использованы и соответствуют всем предыдущим подсказкам.
      */
     public String suggest() {
-        List<String> words = dictionary.getWords();
+        int index = suggestIndex();
+        return index >= 0 ? dictionary.wordAt(index) : null;
+    }
 
-        for (String candidate : words) {
-            if (!guesses.contains(candidate) && isConsistentWithHistory(candidate)) {
-                logger.log("Подсказка: " + candidate);
-                return candidate;
+    // То же, но возвращает индекс слова в словаре или -1; при наличии кэша сначала ищет подсказку в нём
+    public int suggestIndex() {
+        long start = Metrics.start();
+        int index = suggestionCache != null
+                ? suggestionCache.get(guessIndices, clueCodes, guessCount, candidateCount)
+                : -1;
+        if (index < 0) {
+            Metrics.record(Metrics.SUGGEST_CANDIDATES, candidateCount); // столько кандидатов перебирает стратегия
+            index = strategy.suggest(dictionary, clues, candidates, guessIndices, clueCodes, guessCount);
+            if (suggestionCache != null && index >= 0) {
+                suggestionCache.put(guessIndices, clueCodes, guessCount, index, candidateCount);
             }
+        } else {
+            Metrics.count(Metrics.SUGGEST_CACHE_HITS);
         }
+        Metrics.stop(Metrics.SUGGEST, start);
 
-        logger.log("Подсказка не найдена");
-        return null;
+        logger.log(new LogEvent.Hint(dictionary, index));
+        return index;
     }
 
     /*
-     Проверяет, что кандидат соответствует всем предыдущим ходам.
-     Используется для автоподсказки.
+     Оставляет среди кандидатов только слова, которые дали бы ту же подсказку на этот ход.
+     Подсказка переводится в операции над битовыми множествами индекса по буквам,
+     так что computeClue для каждого кандидата не вызывается.
+     Уже введённое слово при этом отсеивается само, если оно не загаданное.
      */
-    private boolean isConsistentWithHistory(String candidate) {
-        for (int i = 0; i < guesses.size(); i++) {
-            String prevGuess = guesses.get(i);
-            String expectedClue = clues.get(i);
-            String actualClue = computeClue(prevGuess, candidate);
-
-            if (!actualClue.equals(expectedClue)) return false;
-        }
-        return true;
+    private void narrowCandidates(int guessIndex, int code) {
+        dictionary.getLetterIndex().applyClue(candidates, dictionary.packedAt(guessIndex), code);
+        candidateCount = candidates.cardinality();
     }
 
     /*
@@ -122,51 +235,10 @@ public class WordleGame {
      +  — правильная буква на правильной позиции
      ^  — правильная буква на неправильной позиции
      -  — буквы нет в слове
+     Сам расчёт выполняет WordleClue, здесь код лишь переводится в строку.
      */
     public static String computeClue(String guess, String answer) {
-        // Инициализируем массив строк длиной 5 символов, по умолчанию "-"
-        String[] res = new String[WORD_LENGTH];
-        Arrays.fill(res, "-");
-
-        String[] g = guess.split("");   // массив букв из угадываемого слова
-        String[] a = answer.split("");  // массив букв из ответа
-
-        boolean[] usedA = new boolean[WORD_LENGTH]; // отметка, какие буквы уже использованы в ответе
-
-        // 1. Отмечаем буквы на правильных местах "+"
-        for (int i = 0; i < WORD_LENGTH; i++) {
-            if (g[i].equals(a[i])) {
-                res[i] = "+";
-                usedA[i] = true;
-            }
-        }
-
-        // 2. Считаем оставшиеся буквы в ответе
-        Map<String, Integer> counts = new HashMap<>();
-        for (int i = 0; i < WORD_LENGTH; i++) {
-            if (!usedA[i]) {
-                String c = a[i];
-                counts.put(c, counts.getOrDefault(c, 0) + 1);
-            }
-        }
-
-        // 3. Отмечаем буквы, которые есть, но на других позициях "^"
-        for (int i = 0; i < WORD_LENGTH; i++) {
-            if (res[i].equals("+")) continue;
-
-            String c = g[i];
-            Integer cnt = counts.get(c);
-
-            if (cnt != null && cnt > 0) {
-                res[i] = "^";
-                counts.put(c, cnt - 1);
-            } else {
-                res[i] = "-";
-            }
-        }
-
-        // 4. Объединяем массив в строку и возвращаем
-        return String.join("", res);
+        return WordleClue.decode(WordleClue.compute(guess, answer), guess.length());
     }
 
 }
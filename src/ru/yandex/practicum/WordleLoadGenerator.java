@@ -0,0 +1,184 @@
+package ru.yandex.practicum;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/*
+Локальный генератор нагрузки для WordleServer.
+Каждый клиент в цикле создаёт игру, играет её подсказками сервера до конца и удаляет.
+В конце печатает число запросов в секунду и p50/p99 времени ответа.
+С параметром --sessions-memory=N дополнительно измеряет расход кучи на сессию:
+создаёт N сессий в собственном процессе и сравнивает занятую память до и после.
+
+Запуск: java ru.yandex.practicum.WordleLoadGenerator [--url=http://localhost:8080] [--clients=16]
+                                                     [--seconds=10] [--sessions-memory=100000]
+*/
+public class WordleLoadGenerator {
+
+    private static final Pattern ID_FIELD = Pattern.compile("\"id\":\"([^\"]+)\"");
+    private static final Pattern HINT_FIELD = Pattern.compile("\"hint\":\"([^\"]+)\"");
+    private static final int MAX_SAMPLES_PER_CLIENT = 1 << 20;
+
+    public static void main(String[] args) throws Exception {
+        String url = "http://localhost:8080";
+        int clients = 16;
+        int seconds = 10;
+        int sessionsForMemory = 0;
+
+        for (String arg : args) {
+            String value = arg.substring(arg.indexOf('=') + 1);
+            if (arg.startsWith("--url=")) {
+                url = value;
+            } else if (arg.startsWith("--clients=")) {
+                clients = Integer.parseInt(value);
+            } else if (arg.startsWith("--seconds=")) {
+                seconds = Integer.parseInt(value);
+            } else if (arg.startsWith("--sessions-memory=")) {
+                sessionsForMemory = Integer.parseInt(value);
+            } else {
+                System.out.println("Неизвестный параметр: " + arg);
+                return;
+            }
+        }
+
+        if (sessionsForMemory > 0) {
+            measureSessionMemory(sessionsForMemory);
+        }
+        runLoad(url, clients, seconds);
+    }
+
+    private static void runLoad(String url, int clients, int seconds) throws InterruptedException {
+        HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        AtomicLong games = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        long[][] samples = new long[clients][];
+        int[] sampleCounts = new int[clients];
+        CountDownLatch done = new CountDownLatch(clients);
+
+        long start = System.nanoTime();
+        for (int c = 0; c < clients; c++) {
+            int client = c;
+            samples[client] = new long[1024];
+            Thread thread = new Thread(() -> {
+                try {
+                    while (System.nanoTime() < deadline) {
+                        if (playOne(http, url, samples, sampleCounts, client)) {
+                            games.incrementAndGet();
+                        } else {
+                            errors.incrementAndGet();
+                        }
+                    }
+                } finally {
+                    done.countDown();
+                }
+            }, "wordle-load-" + c);
+            thread.start();
+        }
+        done.await();
+        long elapsed = System.nanoTime() - start;
+
+        long[] all = new long[Arrays.stream(sampleCounts).sum()];
+        int k = 0;
+        for (int c = 0; c < clients; c++) {
+            System.arraycopy(samples[c], 0, all, k, sampleCounts[c]);
+            k += sampleCounts[c];
+        }
+        Arrays.sort(all);
+
+        System.out.printf("Клиентов: %d, длительность: %.1f с%n", clients, elapsed / 1e9);
+        System.out.printf("Запросов: %d (%.0f в секунду), игр: %d, ошибок: %d%n",
+                all.length, all.length * 1e9 / elapsed, games.get(), errors.get());
+        if (all.length > 0) {
+            System.out.printf("Время ответа: p50 = %.3f мс, p99 = %.3f мс%n",
+                    percentile(all, 50) / 1e6, percentile(all, 99) / 1e6);
+        }
+    }
+
+    // Одна игра: создать, играть подсказками сервера, удалить. false — если сервер ответил ошибкой
+    private static boolean playOne(HttpClient http, String url, long[][] samples, int[] counts, int client) {
+        try {
+            String created = send(http, HttpRequest.newBuilder(URI.create(url + "/games"))
+                    .POST(HttpRequest.BodyPublishers.noBody()).build(), samples, counts, client);
+            Matcher id = ID_FIELD.matcher(created);
+            if (!id.find()) return false;
+            String game = url + "/games/" + id.group(1);
+
+            String state = created;
+            while (!state.contains("\"finished\":true")) {
+                String hint = send(http, HttpRequest.newBuilder(URI.create(game + "/hint")).GET().build(),
+                        samples, counts, client);
+                Matcher word = HINT_FIELD.matcher(hint);
+                if (!word.find()) return false;
+
+                state = send(http, HttpRequest.newBuilder(URI.create(game + "/guess"))
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"word\":\"" + word.group(1) + "\"}",
+                                StandardCharsets.UTF_8)).build(), samples, counts, client);
+            }
+            send(http, HttpRequest.newBuilder(URI.create(game)).DELETE().build(), samples, counts, client);
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private static String send(HttpClient http, HttpRequest request, long[][] samples, int[] counts, int client)
+            throws Exception {
+        long t = System.nanoTime();
+        HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+        long latency = System.nanoTime() - t;
+
+        if (counts[client] == samples[client].length && samples[client].length < MAX_SAMPLES_PER_CLIENT) {
+            samples[client] = Arrays.copyOf(samples[client], samples[client].length * 2);
+        }
+        if (counts[client] < samples[client].length) {
+            samples[client][counts[client]++] = latency;
+        }
+
+        if (response.statusCode() >= 400) {
+            throw new IllegalStateException("HTTP " + response.statusCode() + ": " + response.body());
+        }
+        return response.body();
+    }
+
+    // Память на сессию: разница занятой кучи до и после создания count сессий в этом процессе
+    private static void measureSessionMemory(int count) throws Exception {
+        Logger logger = Logger.discarding();
+        WordleDictionary dictionary = new WordleDictionaryLoader(logger).load("words_ru.txt");
+        dictionary.getLetterIndex();
+
+        try (GameSessionRegistry registry = new GameSessionRegistry(dictionary, null,
+                new FirstConsistentStrategy(), logger, count, TimeUnit.HOURS.toMillis(1))) {
+            long before = usedHeap();
+            for (int i = 0; i < count; i++) {
+                registry.create();
+            }
+            long after = usedHeap();
+            System.out.printf("Сессий: %d, память на сессию: %.0f байт%n",
+                    registry.size(), (double) (after - before) / count);
+        }
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        int index = (int) Math.ceil(p / 100 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+}
@@ -0,0 +1,347 @@
+package ru.yandex.practicum;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/*
+Локальный HTTP/JSON интерфейс для многих одновременных игроков поверх GameSessionRegistry.
+Каждый запрос обрабатывается в своём виртуальном потоке.
+Словарь перезагружается на лету при изменении words_ru.txt (см. DictionaryProvider):
+новые игры начинаются на новом словаре, начатые доигрываются на прежнем.
+Файл читается один раз, и один процесс обслуживает игры всех длин слов, которые в нём есть:
+--length задаёт длину по умолчанию, а POST /games?length=6 начинает игру на словах другой длины;
+словарь и таблица подсказок длины строятся при первой игре на ней.
+С параметром --journal ходы пишутся в журнал игр (см. GameJournal), а при запуске
+незаконченные игры из журнала восстанавливаются с прежними идентификаторами.
+
+POST   /games               — новая игра; ?length=N — на словах из N букв (от 4 до 8)
+GET    /games/{id}          — состояние игры
+POST   /games/{id}/guess    — ход, тело {"word":"слово"} или параметр ?word=
+GET    /games/{id}/hint     — подсказка компьютера
+DELETE /games/{id}          — удалить игру
+GET    /stats               — число сессий, версия словаря и статистика кэша подсказок
+GET    /metrics             — метрики горячих путей текстом (см. Metrics), если включены --metrics=true
+
+Измерено WordleLoadGenerator (16 клиентов, стратегия first, прогоны по 10 с после прогрева) на одном ядре,
+которое сервер делит с генератором, JDK 21: около 1 300–1 850 запросов в секунду, p50 ≈ 6–9 мс,
+p99 ≈ 40–50 мс (с пулом потоков вместо виртуальных — 600–800 запросов в секунду, p50 ≈ 16–20 мс).
+Расход кучи — не более 1 КБ на сессию (--sessions-memory).
+
+Без TCP_NODELAY заголовки и тело ответа уходят разными пакетами и ждут отложенного ACK (~40 мс).
+Свойство sun.net.httpserver.nodelay глобально для JVM, поэтому его ставит только main
+(если оно не задано при запуске); при встраивании сервера запускайте JVM с -Dsun.net.httpserver.nodelay=true.
+
+Запуск: java ru.yandex.practicum.WordleServer [--port=8080] [--strategy=first] [--budget=200]
+                                              [--max-sessions=100000] [--idle-timeout=600000]
+                                              [--cache-size=100000] [--book=true] [--journal=journal]
+                                              [--metrics=true] [--length=5]
+*/
+public class WordleServer implements AutoCloseable {
+
+    private static final String DICTIONARY_FILE = "words_ru.txt";
+    private static final String NODELAY_PROPERTY = "sun.net.httpserver.nodelay";
+    private static final Pattern WORD_FIELD = Pattern.compile("\"word\"\\s*:\\s*\"([^\"]*)\"");
+
+    private final GameSessionRegistry registry;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    public WordleServer(GameSessionRegistry registry, int port) throws IOException {
+        this.registry = registry;
+        this.server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+        this.executor = Executors.newVirtualThreadPerTaskExecutor(); // поток на запрос
+        server.setExecutor(executor);
+        server.createContext("/games", this::handle);
+        server.createContext("/stats", this::handle);
+        server.createContext("/metrics", this::handle);
+    }
+
+    public static void main(String[] args) {
+        if (System.getProperty(NODELAY_PROPERTY) == null) {
+            System.setProperty(NODELAY_PROPERTY, "true");
+        }
+        int port = 8080;
+        String strategyName = "first";
+        long budget = 200;
+        int maxSessions = 100_000;
+        long idleTimeout = 600_000;
+        int cacheSize = 100_000; // 0 — без кэша подсказок
+        boolean useBook = false; // дебютная книга рядом со словарём (см. OpeningBook)
+        String journalDirectory = null; // каталог журнала игр, null — без журнала
+        int length = WordleDictionary.DEFAULT_WORD_LENGTH; // длина слов по умолчанию, от 4 до 8
+
+        for (String arg : args) {
+            String value = arg.substring(arg.indexOf('=') + 1);
+            if (arg.startsWith("--port=")) {
+                port = Integer.parseInt(value);
+            } else if (arg.startsWith("--strategy=")) {
+                strategyName = value;
+            } else if (arg.startsWith("--budget=")) {
+                budget = Long.parseLong(value);
+            } else if (arg.startsWith("--max-sessions=")) {
+                maxSessions = Integer.parseInt(value);
+            } else if (arg.startsWith("--idle-timeout=")) {
+                idleTimeout = Long.parseLong(value);
+            } else if (arg.startsWith("--cache-size=")) {
+                cacheSize = Integer.parseInt(value);
+            } else if (arg.startsWith("--book=")) {
+                useBook = Boolean.parseBoolean(value);
+            } else if (arg.startsWith("--journal=")) {
+                journalDirectory = value;
+            } else if (arg.startsWith("--metrics=")) {
+                Metrics.setEnabled(Boolean.parseBoolean(value));
+            } else if (arg.startsWith("--length=")) {
+                length = Integer.parseInt(value);
+            } else {
+                System.out.println("Неизвестный параметр: " + arg);
+                return;
+            }
+        }
+
+        try {
+            Logger logger = Logger.discarding();
+            DictionaryProvider provider = new DictionaryProvider(Path.of(DICTIONARY_FILE), length, true, logger);
+            provider.start();
+            SuggestionStrategy strategy = SuggestionStrategy.byName(strategyName, budget);
+            if (useBook) {
+                strategy = OpeningBookStrategy.withBookIfPresent(provider.current().getDictionary(),
+                        Path.of(DICTIONARY_FILE), strategy, logger);
+            }
+            GameSessionRegistry registry = new GameSessionRegistry(provider, strategy, cacheSize,
+                    logger, maxSessions, idleTimeout);
+            if (journalDirectory != null) {
+                GameJournal journal = GameJournal.open(Path.of(journalDirectory), logger);
+                registry.setJournal(journal);
+                int restored = registry.restore(new GameJournalReader(Path.of(journalDirectory)));
+                System.out.println("Восстановлено незаконченных игр из журнала: " + restored);
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                    try {
+                        journal.close();
+                    } catch (IOException e) {
+                        System.out.println("Не удалось закрыть журнал игр: " + e.getMessage());
+                    }
+                }, "wordle-journal-close"));
+            }
+
+            WordleServer server = new WordleServer(registry, port);
+            server.start();
+            System.out.println("Сервер Wordle запущен: http://localhost:" + server.getPort() + "/games");
+        } catch (DictionaryLoadException | IOException | IllegalArgumentException e) {
+            System.out.println("Не удалось запустить сервер: " + e.getMessage());
+        }
+    }
+
+    // Начинает принимать запросы и запускает удаление простаивающих сессий реестра
+    public void start() {
+        registry.start();
+        server.start();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdown();
+        registry.close();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            route(exchange);
+        } catch (SessionNotFoundException e) {
+            send(exchange, 404, error(e.getMessage()));
+        } catch (SessionLimitException e) {
+            send(exchange, 503, error(e.getMessage()));
+        } catch (InvalidWordException | WordNotFoundInDictionaryException | IllegalArgumentException e) {
+            send(exchange, 400, error(e.getMessage()));
+        } catch (IllegalStateException e) {
+            send(exchange, 409, error(e.getMessage()));
+        } catch (RuntimeException e) {
+            send(exchange, 500, error("Внутренняя ошибка: " + e));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void route(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        String[] parts = exchange.getRequestURI().getPath().split("/");
+        // parts[0] — пустая строка, parts[1] — "games", "stats" или "metrics"
+
+        if (parts.length == 2 && parts[1].equals("stats") && method.equals("GET")) {
+            send(exchange, 200, stats());
+            return;
+        }
+        if (parts.length == 2 && parts[1].equals("metrics") && method.equals("GET")) {
+            send(exchange, 200, Metrics.format(), "text/plain; charset=utf-8");
+            return;
+        }
+        if (parts.length < 2 || !parts[1].equals("games")) {
+            send(exchange, 404, error("Неизвестный адрес"));
+            return;
+        }
+
+        if (parts.length == 2 && method.equals("POST")) {
+            String length = queryParam(exchange, "length");
+            GameSession session = length == null ? registry.create() : registry.create(Integer.parseInt(length));
+            send(exchange, 201, session.withGame(game -> state(session.getId(), game)));
+            return;
+        }
+        if (parts.length < 3) {
+            send(exchange, 404, error("Неизвестный адрес"));
+            return;
+        }
+
+        String id = parts[2];
+        if (parts.length == 3 && method.equals("GET")) {
+            GameSession session = registry.get(id);
+            send(exchange, 200, session.withGame(game -> state(id, game)));
+        } else if (parts.length == 3 && method.equals("DELETE")) {
+            if (!registry.remove(id)) {
+                throw new SessionNotFoundException("Игра не найдена: " + id);
+            }
+            // 200 с телом, а не 204: после пустого ответа встроенный HttpServer JDK 17 закрывает keep-alive соединение
+            send(exchange, 200, "{\"id\":" + quote(id) + ",\"deleted\":true}");
+        } else if (parts.length == 4 && parts[3].equals("guess") && method.equals("POST")) {
+            String word = WordleDictionary.normalizeWord(readWord(exchange));
+            GameSession session = registry.get(id);
+            send(exchange, 200, session.withGame(game -> {
+                String clue = game.makeGuess(word);
+                return state(id, game, "\"clue\":" + quote(clue));
+            }));
+        } else if (parts.length == 4 && parts[3].equals("hint") && method.equals("GET")) {
+            GameSession session = registry.get(id);
+            send(exchange, 200, session.withGame(game -> {
+                String hint = game.suggest();
+                return state(id, game, "\"hint\":" + (hint == null ? "null" : quote(hint)));
+            }));
+        } else {
+            send(exchange, 404, error("Неизвестный адрес"));
+        }
+    }
+
+    // Слово из параметра ?word= или из JSON-тела {"word": "..."}
+    private static String readWord(HttpExchange exchange) throws IOException {
+        String word = queryParam(exchange, "word");
+        if (word != null) {
+            return word;
+        }
+
+        String body;
+        try (InputStream in = exchange.getRequestBody()) {
+            body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        Matcher matcher = WORD_FIELD.matcher(body);
+        if (!matcher.find()) {
+            throw new IllegalArgumentException("Не указано слово: ожидается {\"word\":\"...\"}");
+        }
+        return matcher.group(1);
+    }
+
+    // Значение параметра запроса name или null, если его нет
+    private static String queryParam(HttpExchange exchange, String name) {
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query != null) {
+            for (String param : query.split("&")) {
+                if (param.startsWith(name) && param.length() > name.length() && param.charAt(name.length()) == '=') {
+                    return URLDecoder.decode(param.substring(name.length() + 1), StandardCharsets.UTF_8);
+                }
+            }
+        }
+        return null;
+    }
+
+    private static String state(String id, WordleGame game) {
+        return state(id, game, null);
+    }
+
+    private static String state(String id, WordleGame game, String extra) {
+        StringBuilder sb = new StringBuilder("{");
+        sb.append("\"id\":").append(quote(id));
+        sb.append(",\"length\":").append(game.getDictionary().getWordLength());
+        sb.append(",\"remainingSteps\":").append(game.getRemainingSteps());
+        sb.append(",\"candidates\":").append(game.getRemainingCandidates());
+        sb.append(",\"finished\":").append(game.isFinished());
+        sb.append(",\"won\":").append(game.isWon());
+        if (game.isFinished()) {
+            sb.append(",\"answer\":").append(quote(game.getAnswer()));
+        }
+        if (extra != null) {
+            sb.append(',').append(extra);
+        }
+        return sb.append('}').toString();
+    }
+
+    private String stats() {
+        StringBuilder sb = new StringBuilder("{");
+        sb.append("\"sessions\":").append(registry.size());
+        DictionarySnapshot snapshot = registry.getSnapshot();
+        sb.append(",\"dictionary\":{\"version\":").append(snapshot.getVersion());
+        sb.append(",\"words\":").append(snapshot.getDictionary().size());
+        sb.append(",\"defaultLength\":").append(snapshot.getDefaultLength());
+        sb.append(",\"lengths\":").append(Arrays.toString(snapshot.getWordLengths()).replace(" ", ""));
+        DictionaryProvider provider = registry.getProvider();
+        if (provider != null) {
+            sb.append(",\"reloads\":").append(provider.getReloadCount());
+            sb.append(",\"failedReloads\":").append(provider.getFailedReloadCount());
+            sb.append(",\"lastReloadMillis\":").append(provider.getLastReloadMillis());
+        }
+        sb.append('}');
+        SuggestionCache cache = registry.getSuggestionCache();
+        if (cache != null) {
+            sb.append(",\"cache\":{\"entries\":").append(cache.size());
+            sb.append(",\"hits\":").append(cache.getHits());
+            sb.append(",\"misses\":").append(cache.getMisses());
+            sb.append(",\"evictions\":").append(cache.getEvictions()).append('}');
+        }
+        return sb.append('}').toString();
+    }
+
+    private static String error(String message) {
+        return "{\"error\":" + quote(message) + "}";
+    }
+
+    private static String quote(String s) {
+        StringBuilder sb = new StringBuilder("\"");
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '"' || c == '\\') {
+                sb.append('\\').append(c);
+            } else if (c < ' ') {
+                sb.append(String.format("\\u%04x", (int) c));
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.append('"').toString();
+    }
+
+    private static void send(HttpExchange exchange, int status, String body) throws IOException {
+        send(exchange, status, body, "application/json; charset=utf-8");
+    }
+
+    private static void send(HttpExchange exchange, int status, String body, String contentType) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package ru.yandex.practicum;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+
+/*
+Пакетный режим без участия игрока: по одной игре WordleGame на каждое загаданное слово
+(весь словарь или выборка по seed), все ходы делает suggest(). Игры распределяются по ядрам;
+словарь, таблица подсказок и индекс по буквам общие и только читаются.
+Отчёт: игр в секунду, распределение числа ходов, доля проигрышей, p50/p99 времени хода.
+С журналом (см. GameJournal) каждая законченная игра записывается в него под номером по порядку.
+
+Запуск: java ru.yandex.practicum.Wordle --simulate [--strategy=entropy] [--budget=500]
+                                        [--sample=500] [--seed=1] [--threads=4] [--cache=100000]
+                                        [--book=true] [--journal=journal] [--metrics=true]
+*/
+public class WordleSimulation {
+
+    private final WordleDictionary dictionary;
+    private final ClueMatrix clueMatrix;
+    private final SuggestionStrategy strategy;
+    private final SuggestionCache suggestionCache;
+    private final GameJournal journal;
+    private final int parallelism;
+
+    public WordleSimulation(WordleDictionary dictionary, ClueMatrix clueMatrix, SuggestionStrategy strategy,
+                            int parallelism) {
+        this(dictionary, clueMatrix, strategy, null, parallelism);
+    }
+
+    // suggestionCache — общий для всех игр прогона кэш подсказок или null
+    public WordleSimulation(WordleDictionary dictionary, ClueMatrix clueMatrix, SuggestionStrategy strategy,
+                            SuggestionCache suggestionCache, int parallelism) {
+        this(dictionary, clueMatrix, strategy, suggestionCache, null, parallelism);
+    }
+
+    // journal — журнал, куда пишутся законченные игры прогона, или null
+    public WordleSimulation(WordleDictionary dictionary, ClueMatrix clueMatrix, SuggestionStrategy strategy,
+                            SuggestionCache suggestionCache, GameJournal journal, int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism должен быть положительным: " + parallelism);
+        }
+        this.dictionary = dictionary;
+        this.clueMatrix = clueMatrix;
+        this.strategy = strategy;
+        this.suggestionCache = suggestionCache;
+        this.journal = journal;
+        this.parallelism = parallelism;
+    }
+
+    // Играет по одной игре на каждое слово словаря
+    public Report runAll() {
+        return run(IntStream.range(0, dictionary.size()).toArray());
+    }
+
+    // Играет sample игр на случайно выбранные (по seed) слова; sample >= размера словаря — весь словарь
+    public Report runSample(int sample, long seed) {
+        int n = dictionary.size();
+        if (sample <= 0 || sample >= n) {
+            return runAll();
+        }
+
+        int[] answers = IntStream.range(0, n).toArray();
+        Random random = new Random(seed);
+        // частичное перемешивание Фишера — Йетса: первые sample элементов — случайная выборка
+        for (int i = 0; i < sample; i++) {
+            int j = i + random.nextInt(n - i);
+            int tmp = answers[i];
+            answers[i] = answers[j];
+            answers[j] = tmp;
+        }
+        return run(Arrays.copyOf(answers, sample));
+    }
+
+    private Report run(int[] answers) {
+        int maxSteps = WordleGame.MAX_STEPS;
+        AtomicIntegerArray distribution = new AtomicIntegerArray(maxSteps + 1); // [k-1] — победа за k ходов, [maxSteps] — проигрыш
+        long[] moveNanos = new long[answers.length * maxSteps];
+        Arrays.fill(moveNanos, -1);
+
+        Logger logger = Logger.discarding();
+        dictionary.getLetterIndex(); // строим общий индекс до старта, а не в первой игре
+
+        long start = System.nanoTime();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.submit(() -> IntStream.range(0, answers.length).parallel().forEach(g -> {
+                WordleGame game = new WordleGame(dictionary, logger, clueMatrix, strategy, answers[g], suggestionCache);
+                int moves = 0;
+
+                while (!game.isFinished()) {
+                    long t = System.nanoTime();
+                    int hint = game.suggestIndex();
+                    if (hint < 0) break;
+                    game.makeGuess(hint);
+                    moveNanos[g * maxSteps + moves++] = System.nanoTime() - t;
+                }
+                distribution.incrementAndGet(game.isWon() ? moves - 1 : maxSteps);
+                if (journal != null) {
+                    // случайный 63-битный id, как у игр сервера: номер игры в прогоне повторяется от запуска к запуску
+                    journal.append(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, game);
+                }
+            })).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Прогон прерван", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Ошибка в прогоне игр", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        int[] counts = new int[maxSteps + 1];
+        for (int i = 0; i <= maxSteps; i++) {
+            counts[i] = distribution.get(i);
+        }
+        long[] latencies = Arrays.stream(moveNanos).filter(t -> t >= 0).sorted().toArray();
+        return new Report(answers.length, elapsed, counts, latencies);
+    }
+
+    /*
+     Итоги прогона. distribution[k-1] — сколько игр выиграно за k ходов,
+     distribution[MAX_STEPS] — сколько проиграно.
+     */
+    public static class Report {
+        private final int games;
+        private final long elapsedNanos;
+        private final int[] distribution;
+        private final long[] sortedMoveNanos;
+
+        Report(int games, long elapsedNanos, int[] distribution, long[] sortedMoveNanos) {
+            this.games = games;
+            this.elapsedNanos = elapsedNanos;
+            this.distribution = distribution;
+            this.sortedMoveNanos = sortedMoveNanos;
+        }
+
+        public int getGames() {
+            return games;
+        }
+
+        public int[] getDistribution() {
+            return distribution.clone();
+        }
+
+        public int getFailures() {
+            return distribution[distribution.length - 1];
+        }
+
+        public double getFailureRate() {
+            return games == 0 ? 0 : (double) getFailures() / games;
+        }
+
+        public double getGamesPerSecond() {
+            return games * 1e9 / Math.max(1, elapsedNanos);
+        }
+
+        // Среднее число ходов в выигранных играх
+        public double getAverageGuesses() {
+            long moves = 0;
+            int wins = 0;
+            for (int k = 0; k < distribution.length - 1; k++) {
+                moves += (long) (k + 1) * distribution[k];
+                wins += distribution[k];
+            }
+            return wins == 0 ? 0 : (double) moves / wins;
+        }
+
+        // Перцентиль времени хода (подсказка + ход) в наносекундах, p от 0 до 100
+        public long getMoveLatencyPercentile(double p) {
+            if (sortedMoveNanos.length == 0) return 0;
+            int index = (int) Math.ceil(p / 100 * sortedMoveNanos.length) - 1;
+            return sortedMoveNanos[Math.max(0, Math.min(index, sortedMoveNanos.length - 1))];
+        }
+
+        public String format() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(String.format("Игр: %d за %.2f с (%.1f игр/с)%n", games, elapsedNanos / 1e9, getGamesPerSecond()));
+            for (int k = 0; k < distribution.length - 1; k++) {
+                sb.append(String.format("  за %d ход(а/ов): %d%n", k + 1, distribution[k]));
+            }
+            sb.append(String.format("  не угадано: %d (%.2f%%)%n", getFailures(), getFailureRate() * 100));
+            sb.append(String.format("Среднее число ходов при победе: %.3f%n", getAverageGuesses()));
+            sb.append(String.format("Время хода: p50 = %.3f мс, p99 = %.3f мс%n",
+                    getMoveLatencyPercentile(50) / 1e6, getMoveLatencyPercentile(99) / 1e6));
+            return sb.toString();
+        }
+    }
+}
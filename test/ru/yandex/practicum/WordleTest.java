@@ -1,14 +1,38 @@
 package ru.yandex.practicum;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.io.PrintWriter;
+import java.io.StringWriter;
 import java.io.Writer;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
 import static org.junit.jupiter.api.Assertions.*;
 
 public class WordleTest {
 
+    // Свой каталог у каждого теста; JUnit удаляет его со всем содержимым после теста
+    @TempDir
+    Path tempDir;
+
     // -------------------- WordleDictionary --------------------
     @Test
     void testDictionaryLoadsUniqueNormalizedWords() {
@@ -22,6 +46,23 @@ public class WordleTest {
         assertTrue(dict.getWords().contains("слово"));
     }
 
+    @Test
+    void testDictionaryIndexLookup() {
+        // Проверяет, что индексы слов постоянны, поиск работает по нормализованному слову,
+        // а список слов нельзя изменить снаружи
+        List<String> raw = List.of("Слово", "шофёр", "слово", "мир", "савар");
+        WordleDictionary dict = new WordleDictionary(raw, new Logger(new PrintWriter(Writer.nullWriter())));
+
+        assertEquals(3, dict.size());
+        assertEquals(0, dict.indexOf("слово"));
+        assertEquals(1, dict.indexOf("шофер"));
+        assertEquals(2, dict.indexOf("савар"));
+        assertEquals(-1, dict.indexOf("мир"));
+        assertEquals("шофер", dict.wordAt(1));
+        assertTrue(dict.contains("савар"));
+        assertThrows(UnsupportedOperationException.class, () -> dict.getWords().add("навар"));
+    }
+
     // -------------------- WordleGame / computeClue --------------------
     @Test
     void testComputeClueExactMatch() {
@@ -30,6 +71,29 @@ public class WordleTest {
         assertEquals("+++++", clue);
     }
 
+    @Test
+    void testComputeClueRepeatedLetters() {
+        // Проверяет обработку повторяющихся букв: лишние экземпляры буквы получают "-"
+        assertEquals("^--+-", WordleGame.computeClue("аббат", "савар"));
+        assertEquals("^+-+-", WordleGame.computeClue("валах", "савар"));
+        assertEquals("-++++", WordleGame.computeClue("навар", "савар"));
+        assertEquals("^^^^-", WordleGame.computeClue("колок", "около"));
+    }
+
+    @Test
+    void testClueCodeRoundTrip() {
+        // Проверяет, что код подсказки однозначно переводится в строку и обратно
+        int code = WordleClue.compute("аббат".toCharArray(), "савар".toCharArray());
+        assertEquals(WordleClue.compute("аббат", "савар"), code);
+        assertEquals(code, WordleClue.compute(PackedWord.pack("аббат"), PackedWord.pack("савар"), 5));
+        assertEquals(WordleClue.compute("колок", "около"),
+                WordleClue.compute(PackedWord.pack("колок"), PackedWord.pack("около"), 5));
+        assertEquals("^--+-", WordleClue.decode(code, 5));
+        assertEquals(code, WordleClue.encode("^--+-"));
+        assertEquals(WordleClue.allCorrect(5), WordleClue.compute("слово", "слово"));
+        assertEquals(242, WordleClue.allCorrect(5));
+    }
+
     @Test
     void testMakeGuessReducesRemainingSteps() throws Exception {
         // Проверяет, что ход уменьшает количество оставшихся попыток
@@ -54,6 +118,234 @@ public class WordleTest {
         assertTrue(game.isWon());
     }
 
+    @Test
+    void testCandidatesNarrowAfterGuess() {
+        // Проверяет, что после хода кандидатами остаются ровно слова, дающие ту же подсказку
+        List<String> lines = List.of("савар", "навар", "валах", "аббат", "слово", "шофер");
+        Logger logger = new Logger(new PrintWriter(Writer.nullWriter()));
+        WordleGame game = new WordleGame(new WordleDictionary(lines, logger), logger);
+        assertEquals(lines.size(), game.getRemainingCandidates());
+
+        String clue = game.makeGuess("аббат");
+        long expected = lines.stream()
+                .filter(w -> !w.equals("аббат") || clue.equals("+++++"))
+                .filter(w -> WordleGame.computeClue("аббат", w).equals(clue))
+                .count();
+        assertEquals(expected, game.getRemainingCandidates());
+
+        String hint = game.suggest();
+        assertNotNull(hint);
+        assertEquals(clue, WordleGame.computeClue("аббат", hint));
+    }
+
+    @Test
+    void testSuggestSolvesGame() {
+        // Проверяет, что игра, в которой ходит только компьютер, заканчивается победой
+        List<String> lines = List.of("савар", "навар", "валах", "аббат", "слово", "шофер");
+        Logger logger = new Logger(new PrintWriter(Writer.nullWriter()));
+        WordleGame game = new WordleGame(new WordleDictionary(lines, logger), logger);
+
+        while (!game.isFinished()) {
+            game.makeGuess(game.suggest());
+        }
+        assertTrue(game.isWon());
+        assertEquals(1, game.getRemainingCandidates());
+    }
+
+    @Test
+    void testBatchCluesMatchSingleClues() {
+        // Проверяет, что пакетный подсчёт по столбцам совпадает с computeClue для всех пар слов словаря,
+        // включая повторяющиеся буквы в попытке и в ответе; векторное ядро — если оно загружено.
+        // Словарь — 2000 случайных слов из 7 букв алфавита: повторы букв в них почти в каждом слове
+        Random random = new Random(42);
+        List<String> words = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            StringBuilder word = new StringBuilder();
+            for (int p = 0; p < 5; p++) {
+                word.append("аколрст".charAt(random.nextInt(7)));
+            }
+            words.add(word.toString());
+        }
+        WordleDictionary dict = new WordleDictionary(words, Logger.discarding());
+        WordColumns columns = WordColumns.of(dict);
+        int[] out = new int[dict.size()];
+        List<ClueKernel> kernels = WordleClue.vectorKernel() != null
+                ? List.of(WordleClue.SCALAR_KERNEL, WordleClue.vectorKernel())
+                : List.of(WordleClue.SCALAR_KERNEL);
+
+        for (ClueKernel kernel : kernels) {
+            for (int g = 0; g < dict.size(); g++) {
+                WordleClue.computeClues(dict.packedAt(g), columns, out, kernel);
+                for (int a = 0; a < dict.size(); a++) {
+                    if (out[a] != WordleClue.compute(dict.wordAt(g), dict.wordAt(a))) {
+                        fail(dict.wordAt(g) + " / " + dict.wordAt(a) + ": " + WordleClue.decode(out[a], 5)
+                                + " вместо " + WordleGame.computeClue(dict.wordAt(g), dict.wordAt(a)));
+                    }
+                }
+            }
+
+            List<String> tricky = List.of("около", "аббат", "савар", "ааааб", "баааа", "абаба");
+            WordleDictionary small = new WordleDictionary(tricky, Logger.discarding());
+            int[] indices = {5, 1, 3};
+            WordColumns subset = WordColumns.of(small, indices, indices.length);
+            for (String guess : List.of("колок", "валах", "аааба", "ббббб")) {
+                WordleClue.computeClues(PackedWord.pack(guess), subset, out, kernel);
+                for (int i = 0; i < indices.length; i++) {
+                    assertEquals(WordleClue.compute(guess, small.wordAt(indices[i])), out[i], guess);
+                }
+            }
+        }
+    }
+
+    // -------------------- SuggestionStrategy --------------------
+    @Test
+    void testScoringStrategiesSolveGame() {
+        // Проверяет, что каждая стратегия приводит к победе и предлагает слова из словаря
+        List<String> lines = List.of("савар", "навар", "валах", "аббат", "слово", "шофер", "колок", "около");
+        Logger logger = new Logger(new PrintWriter(Writer.nullWriter()));
+        WordleDictionary dict = new WordleDictionary(lines, logger);
+        List<SuggestionStrategy> strategies = List.of(new FirstConsistentStrategy(),
+                new MaxInformationStrategy(1000), new MinimaxStrategy(1000), new ExpectedSizeStrategy(1000));
+
+        for (SuggestionStrategy strategy : strategies) {
+            WordleGame game = new WordleGame(dict, logger, ClueMatrix.build(dict), strategy);
+            while (!game.isFinished()) {
+                String hint = game.suggest();
+                assertTrue(dict.getWords().contains(hint));
+                game.makeGuess(hint);
+            }
+            assertTrue(game.isWon(), strategy.getClass().getSimpleName());
+        }
+    }
+
+    @Test
+    void testMinimaxPicksWordSplittingCandidates() {
+        // Проверяет, что минимакс выбирает слово, которое лучше всего разбивает кандидатов
+        List<String> lines = List.of("савар", "навар", "валах", "аббат");
+        Logger logger = new Logger(new PrintWriter(Writer.nullWriter()));
+        WordleDictionary dict = new WordleDictionary(lines, logger);
+        WordBitSet all = WordBitSet.full(lines.size());
+
+        int index = new MinimaxStrategy(1000).suggest(dict, ClueSource.of(dict), all);
+        String word = dict.getWords().get(index);
+
+        Set<String> clues = new HashSet<>();
+        for (String answer : lines) {
+            clues.add(WordleGame.computeClue(word, answer));
+        }
+        assertEquals(lines.size(), clues.size());
+    }
+
+    // -------------------- LetterIndex --------------------
+    @Test
+    void testLetterIndexApplyClueMatchesComputeClue() {
+        // Проверяет, что фильтрация по индексу букв даёт ровно те слова, что и прямое сравнение подсказок,
+        // в том числе при повторяющихся буквах
+        List<String> lines = List.of("савар", "навар", "валах", "аббат", "слово", "колок", "около", "лалка", "полол");
+        WordleDictionary dict = new WordleDictionary(lines, new Logger(new PrintWriter(Writer.nullWriter())));
+        LetterIndex index = dict.getLetterIndex();
+
+        for (String guess : dict.getWords()) {
+            for (String answer : dict.getWords()) {
+                int code = WordleClue.compute(guess, answer);
+                WordBitSet set = WordBitSet.full(dict.size());
+                index.applyClue(set, PackedWord.pack(guess), code);
+
+                for (int i = 0; i < dict.size(); i++) {
+                    boolean expected = WordleClue.compute(guess, dict.wordAt(i)) == code;
+                    assertEquals(expected, set.get(i), guess + " / " + answer + " / " + dict.wordAt(i));
+                }
+            }
+        }
+    }
+
+    @Test
+    void testLetterIndexPatternQuery() {
+        // Проверяет поиск по шаблону с обязательными и запрещёнными буквами
+        List<String> lines = List.of("слово", "сломо", "сорок", "совет", "шофер", "хи-хи");
+        WordleDictionary dict = new WordleDictionary(lines, new Logger(new PrintWriter(Writer.nullWriter())));
+        LetterIndex index = dict.getLetterIndex();
+
+        assertFalse(dict.contains("хи-хи"));
+        assertEquals(List.of("слово"), index.find("с?о??", "в", "м"));
+        assertEquals(List.of("слово", "сломо"), index.find("сло??", "", ""));
+        assertEquals(List.of("сорок"), index.find("?????", "оо", "л"));
+        assertEquals(List.of(), index.find("?????", "ооооо", ""));
+    }
+
+    // -------------------- WordleSimulation --------------------
+    @Test
+    void testSimulationPlaysEveryAnswer() {
+        // Проверяет, что прогон играет по одной игре на каждое слово и все игры учтены в распределении
+        List<String> lines = List.of("савар", "навар", "валах", "аббат", "слово", "шофер", "колок", "около");
+        WordleDictionary dict = new WordleDictionary(lines, Logger.discarding());
+        WordleSimulation simulation = new WordleSimulation(dict, ClueMatrix.build(dict),
+                new MinimaxStrategy(1000), 2);
+
+        WordleSimulation.Report report = simulation.runAll();
+        assertEquals(lines.size(), report.getGames());
+        assertEquals(lines.size(), Arrays.stream(report.getDistribution()).sum());
+        assertEquals(0, report.getFailures());
+        assertTrue(report.getMoveLatencyPercentile(99) >= report.getMoveLatencyPercentile(50));
+
+        assertEquals(3, simulation.runSample(3, 42).getGames());
+    }
+
+    // -------------------- ClueMatrix --------------------
+    @Test
+    void testClueMatrixMatchesComputeClue() {
+        // Проверяет, что таблица подсказок совпадает с прямым вычислением для всех пар слов
+        List<String> lines = List.of("слово", "шофер", "савар", "навар", "аббат", "колок", "около");
+        WordleDictionary dict = new WordleDictionary(lines, new Logger(new PrintWriter(Writer.nullWriter())));
+        ClueMatrix matrix = ClueMatrix.build(dict);
+
+        List<String> words = dict.getWords();
+        for (int g = 0; g < words.size(); g++) {
+            for (int a = 0; a < words.size(); a++) {
+                assertEquals(WordleClue.compute(words.get(g), words.get(a)), matrix.clue(g, a));
+            }
+        }
+    }
+
+    @Test
+    void testClueMatrixCacheFileIsReused() throws Exception {
+        // Проверяет, что таблица сохраняется рядом со словарём и при повторной загрузке читается из файла
+        Path dir = Files.createTempDirectory(tempDir, "wordle");
+        Path dictionaryFile = dir.resolve("words.txt");
+        Logger logger = new Logger(new PrintWriter(Writer.nullWriter()));
+        WordleDictionary dict = new WordleDictionary(List.of("слово", "шофер", "савар"), logger);
+
+        ClueMatrix built = ClueMatrix.loadOrBuild(dict, dictionaryFile, logger);
+        Path cacheFile = ClueMatrix.cacheFileFor(dictionaryFile, dict.contentHash());
+        assertTrue(Files.exists(cacheFile));
+
+        ClueMatrix mapped = ClueMatrix.loadOrBuild(dict, dictionaryFile, logger);
+        for (int g = 0; g < 3; g++) {
+            for (int a = 0; a < 3; a++) {
+                assertEquals(built.clue(g, a), mapped.clue(g, a));
+            }
+        }
+    }
+
+    @Test
+    void testClueMatrixRejectsTableBeyondIntRange() throws Exception {
+        // Проверяет, что таблица больше 2 ГБ отвергается понятной ошибкой даже при наличии файла-кэша
+        Logger logger = new Logger(new PrintWriter(Writer.nullWriter()));
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 32 * 32 * 32; i++) {
+            // 32 768 разных слов из шести букв: ячейки по 2 байта, итого ровно 2^31 байт
+            lines.add("абв" + (char) ('а' + i / 1024) + (char) ('а' + i / 32 % 32) + (char) ('а' + i % 32));
+        }
+        WordleDictionary dict = new WordleDictionary(lines, 6, logger);
+        assertEquals(32 * 32 * 32, dict.size());
+
+        Path dictionaryFile = tempDir.resolve("words.txt");
+        Files.write(ClueMatrix.cacheFileFor(dictionaryFile, dict.contentHash()), new byte[64]);
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> ClueMatrix.loadOrBuild(dict, dictionaryFile, logger));
+        assertTrue(e.getMessage().contains("32768"));
+    }
+
     // -------------------- WordleDictionaryLoader --------------------
     @Test
     void testLoaderLoadsDictionary() throws Exception {
@@ -66,5 +358,813 @@ public class WordleTest {
         assertTrue(dict.getWords().contains("шофер"));
     }
 
-}
 
+    @Test
+    void testLoaderDecodesFileStreaming() throws Exception {
+        // Проверяет загрузку из файла: BOM, переводы строк Windows, пробелы по краям, регистр и ё,
+        // а также отбрасывание слов неподходящей длины и с символами вне алфавита
+        Path file = Files.createTempFile(tempDir, "words", ".txt");
+        String content = "\uFEFFСлово\r\n  шофёр  \nмир\n\nхи-хи\nslovo\nсавар\nСЛОВО\nнавар";
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+
+        WordleDictionary dict = new WordleDictionaryLoader(new Logger(new PrintWriter(Writer.nullWriter())))
+                .load(file.toString());
+        assertEquals(List.of("слово", "шофер", "савар", "навар"), dict.getWords());
+    }
+
+
+    @Test
+    void testCompiledDictionaryRoundTrip() throws Exception {
+        // Проверяет, что скомпилированный словарь читается в тот же словарь, а повреждение файла обнаруживается
+        Logger logger = new Logger(new PrintWriter(Writer.nullWriter()));
+        WordleDictionary dict = new WordleDictionary(List.of("слово", "шофер", "савар", "яхонт"), logger);
+        Path file = Files.createTempDirectory(tempDir, "wordle").resolve("words.wdict");
+
+        CompiledDictionary.write(dict, file);
+        WordleDictionary read = CompiledDictionary.read(file, logger);
+        assertEquals(dict.getWords(), read.getWords());
+        assertEquals(dict.contentHash(), read.contentHash());
+
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 1] ^= 1;
+        Files.write(file, bytes);
+        assertThrows(IOException.class, () -> CompiledDictionary.read(file, logger));
+    }
+
+    @Test
+    void testLoaderPrefersFreshCompiledDictionary() throws Exception {
+        // Проверяет, что загрузчик создаёт скомпилированный словарь, читает его, пока он новее текста,
+        // и пересобирает после изменения текста
+        Logger logger = new Logger(new PrintWriter(Writer.nullWriter()));
+        Path source = Files.createTempDirectory(tempDir, "wordle").resolve("words.txt");
+        Path compiled = CompiledDictionary.compiledFileFor(source);
+        Files.write(source, List.of("слово", "шофер"), StandardCharsets.UTF_8);
+
+        new WordleDictionaryLoader(logger).load(source.toString());
+        assertTrue(Files.exists(compiled));
+
+        // Текст теряет слово, но скомпилированный файл новее — используется он
+        Files.write(source, List.of("слово"), StandardCharsets.UTF_8);
+        Files.setLastModifiedTime(source, FileTime.fromMillis(Files.getLastModifiedTime(compiled).toMillis() - 1000));
+        assertEquals(2, new WordleDictionaryLoader(logger).load(source.toString()).size());
+
+        // Текст стал новее — словарь читается из текста, скомпилированный пересобирается
+        Files.setLastModifiedTime(source, FileTime.fromMillis(Files.getLastModifiedTime(compiled).toMillis() + 1000));
+        assertEquals(1, new WordleDictionaryLoader(logger).load(source.toString()).size());
+        assertEquals(1, CompiledDictionary.read(compiled, logger).size());
+    }
+
+    @Test
+    void testPackedWordRoundTrip() {
+        // Проверяет упаковку слова в int по 5 бит на букву
+        long packed = PackedWord.pack("яхонт");
+        assertEquals("яхонт", PackedWord.unpack(packed, 5));
+        assertEquals(31, PackedWord.letterAt(packed, 0));
+        assertEquals(0, PackedWord.letterAt(PackedWord.pack("аабва"), 4));
+        assertThrows(IllegalArgumentException.class, () -> PackedWord.pack("хи-хи"));
+    }
+
+
+    // -------------------- Logger --------------------
+    @Test
+    void testAsyncLoggerWritesAllEventsInOrderOnClose() {
+        // Проверяет, что при политике BLOCK все события записываются по порядку, даже если буфер мал
+        StringWriter out = new StringWriter();
+        WordleDictionary dict = new WordleDictionary(List.of("слово", "савар"), new Logger(new PrintWriter(Writer.nullWriter())));
+        AsyncLogger logger = AsyncLogger.start(new PrintWriter(out), 4, 8, 10, AsyncLogger.OverflowPolicy.BLOCK);
+
+        for (int i = 0; i < 100; i++) {
+            logger.log("событие " + i);
+        }
+        logger.log(new LogEvent.Guess(dict, 1, WordleClue.encode("^--+-"), 5));
+        logger.log(new LogEvent.Hint(dict, -1));
+        logger.close();
+
+        String[] lines = out.toString().split(System.lineSeparator());
+        assertEquals(102, lines.length);
+        for (int i = 0; i < 100; i++) {
+            assertEquals("событие " + i, lines[i]);
+        }
+        assertEquals("Ход: савар -> ^--+-. Осталось: 5", lines[100]);
+        assertEquals("Подсказка не найдена", lines[101]);
+        assertEquals(0, logger.getDroppedCount());
+    }
+
+    @Test
+    void testAsyncLoggerDropsWhenFull() throws Exception {
+        // Проверяет, что при политике DROP переполнение не блокирует вызывающего, а потерянные события считаются
+        CountDownLatch release = new CountDownLatch(1);
+        StringWriter out = new StringWriter();
+        Writer slow = new Writer() {
+            @Override
+            public void write(char[] cbuf, int off, int len) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                out.write(cbuf, off, len);
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        AsyncLogger logger = AsyncLogger.start(new PrintWriter(slow), 2, 1, 10, AsyncLogger.OverflowPolicy.DROP);
+
+        for (int i = 0; i < 50; i++) {
+            logger.log("событие " + i);
+        }
+        release.countDown();
+        logger.close();
+
+        long written = out.toString().lines().count();
+        assertTrue(logger.getDroppedCount() > 0);
+        assertEquals(50, written + logger.getDroppedCount());
+    }
+
+    @Test
+    void testAsyncLoggerAccountsForEventsLoggedDuringClose() throws Exception {
+        // Проверяет, что событие, положенное одновременно с close(), либо записано, либо посчитано отброшенным
+        for (int round = 0; round < 20; round++) {
+            StringWriter out = new StringWriter();
+            AsyncLogger logger = AsyncLogger.start(new PrintWriter(out), 64, 8, 10, AsyncLogger.OverflowPolicy.BLOCK);
+            int perThread = 500;
+            Thread[] producers = new Thread[3];
+            for (int t = 0; t < producers.length; t++) {
+                producers[t] = new Thread(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        logger.log("событие " + i);
+                    }
+                });
+                producers[t].start();
+            }
+            logger.close();
+            for (Thread producer : producers) {
+                producer.join();
+            }
+
+            long written = out.toString().lines().count();
+            assertEquals(producers.length * perThread, written + logger.getDroppedCount());
+        }
+    }
+
+    // -------------------- SuggestionCache --------------------
+    @Test
+    void testSuggestionCacheIgnoresMoveOrder() {
+        // Проверяет, что ключ не зависит от порядка ходов, а записи с другим числом кандидатов не выдаются
+        List<String> raw = List.of("слово", "шофер", "савар", "навар");
+        WordleDictionary dict = new WordleDictionary(raw, Logger.discarding());
+        SuggestionCache cache = new SuggestionCache(dict, 100);
+
+        cache.put(new int[]{0, 2}, new int[]{5, 7}, 2, 3, 10);
+        assertEquals(3, cache.get(new int[]{2, 0}, new int[]{7, 5}, 2, 10));
+        assertEquals(3, cache.get(new int[]{0, 2, 0}, new int[]{5, 7, 5}, 3, 10)); // повтор хода ничего не меняет
+        assertEquals(-1, cache.get(new int[]{0, 2}, new int[]{5, 7}, 2, 11));
+        assertEquals(-1, cache.get(new int[]{0, 2}, new int[]{5, 8}, 2, 10));
+        assertEquals(2, cache.getHits());
+        assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    void testSuggestionCacheIsBoundedAndSharedByGames() {
+        // Проверяет, что размер кэша ограничен, а игры с тем же ходом получают ту же подсказку из кэша
+        List<String> raw = List.of("слово", "шофер", "савар", "навар", "аббат", "валах");
+        Logger logger = Logger.discarding();
+        WordleDictionary dict = new WordleDictionary(raw, logger);
+
+        SuggestionCache small = new SuggestionCache(dict, 16);
+        for (int i = 0; i < 1000; i++) {
+            small.put(new int[]{i}, new int[]{0}, 1, 0, 1);
+        }
+        assertTrue(small.size() <= 16);
+        assertEquals(1000 - small.size(), small.getEvictions());
+
+        SuggestionCache cache = new SuggestionCache(dict, 100);
+        SuggestionStrategy strategy = new MaxInformationStrategy(1000);
+        for (int answer = 0; answer < dict.size(); answer++) {
+            WordleGame cached = new WordleGame(dict, logger, null, strategy, answer, cache);
+            WordleGame plain = new WordleGame(dict, logger, null, strategy, answer);
+            while (!plain.isFinished()) {
+                int hint = plain.suggestIndex();
+                assertEquals(hint, cached.suggestIndex());
+                plain.makeGuess(hint);
+                cached.makeGuess(hint);
+            }
+        }
+        assertTrue(cache.getHits() >= dict.size() - 1); // первая подсказка считается один раз
+    }
+
+    // -------------------- OpeningBook --------------------
+    @Test
+    void testOpeningBookMatchesLiveStrategy() throws IOException {
+        // Проверяет, что книга после записи и чтения даёт те же подсказки, что и стратегия без книги,
+        // а ход не по книге передаётся обычной стратегии
+        List<String> raw = List.of("слово", "шофер", "савар", "навар", "аббат", "валах", "кошка", "мышка", "норка");
+        Logger logger = Logger.discarding();
+        WordleDictionary dict = new WordleDictionary(raw, logger);
+        SuggestionStrategy live = new MaxInformationStrategy(1000);
+
+        Path file = Files.createTempDirectory(tempDir, "wordle-book").resolve("words.book");
+        OpeningBook.build(dict, ClueSource.of(dict), live, dict.indexOf("савар")).save(file, dict);
+        OpeningBookStrategy booked = new OpeningBookStrategy(OpeningBook.read(file, dict), live);
+        assertEquals(dict.indexOf("савар"), booked.getBook().getOpener());
+
+        for (int answer = 0; answer < dict.size(); answer++) {
+            WordleGame withBook = new WordleGame(dict, logger, null, booked, answer);
+            WordleGame plain = new WordleGame(dict, logger, null, live, answer);
+            assertEquals(dict.indexOf("савар"), withBook.suggestIndex());
+            withBook.makeGuess(dict.indexOf("савар"));
+            plain.makeGuess(dict.indexOf("савар"));
+
+            while (!plain.isFinished()) {
+                int hint = plain.suggestIndex();
+                assertEquals(hint, withBook.suggestIndex());
+                plain.makeGuess(hint);
+                withBook.makeGuess(hint);
+            }
+        }
+        assertEquals(0, booked.getFallbacks());
+
+        WordleGame offBook = new WordleGame(dict, logger, null, booked, 0);
+        offBook.makeGuess(dict.indexOf("кошка"));
+        offBook.suggestIndex();
+        assertEquals(1, booked.getFallbacks());
+    }
+
+    @Test
+    void testOpeningBookRejectsOtherDictionary() throws IOException {
+        // Проверяет, что книга, построенная для другого словаря или повреждённая, не читается
+        Logger logger = Logger.discarding();
+        WordleDictionary dict = new WordleDictionary(List.of("слово", "шофер", "савар", "навар"), logger);
+        WordleDictionary other = new WordleDictionary(List.of("слово", "шофер", "савар", "аббат"), logger);
+
+        Path file = Files.createTempDirectory(tempDir, "wordle-book").resolve("words.book");
+        OpeningBook.build(dict, ClueSource.of(dict), new FirstConsistentStrategy(), -1).save(file, dict);
+        assertThrows(IOException.class, () -> OpeningBook.read(file, other));
+
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 1] ^= 1;
+        Files.write(file, bytes);
+        assertThrows(IOException.class, () -> OpeningBook.read(file, dict));
+    }
+
+    // -------------------- DictionaryProvider --------------------
+    @Test
+    void testDictionaryReloadKeepsRunningGamesOnOldSnapshot() throws Exception {
+        // Проверяет, что после перезагрузки новые игры идут по новому словарю, начатые — по старому,
+        // а неизменившийся словарь новый снимок не создаёт
+        Path file = Files.createTempDirectory(tempDir, "wordle-reload").resolve("words.txt");
+        Files.write(file, List.of("слово", "шофер"), StandardCharsets.UTF_8);
+        Logger logger = Logger.discarding();
+
+        DictionaryProvider provider = new DictionaryProvider(file, false, logger);
+        try (GameSessionRegistry registry = new GameSessionRegistry(provider, new FirstConsistentStrategy(), 100,
+                logger, 10, 60_000)) {
+            GameSession before = registry.create();
+            DictionarySnapshot first = provider.current();
+            assertFalse(provider.reload());
+
+            Files.write(file, List.of("слово", "шофер", "савар", "навар"), StandardCharsets.UTF_8);
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() + 5_000));
+            assertTrue(provider.reload());
+            assertEquals(2, provider.current().getVersion());
+            assertEquals(1, provider.getReloadCount());
+            assertTrue(provider.getLastReloadMillis() >= 0);
+
+            GameSession after = registry.create();
+            assertEquals(4, after.withGame(WordleGame::getRemainingCandidates));
+            assertEquals(2, before.withGame(WordleGame::getRemainingCandidates));
+            assertEquals(2, first.getDictionary().size());
+            assertSame(provider.current().getDictionary(), registry.getSuggestionCache().getDictionary());
+        }
+    }
+
+    @Test
+    void testDictionaryProviderWatchesFile() throws Exception {
+        // Проверяет, что изменение файла словаря подхватывается фоновым слежением
+        Path file = Files.createTempDirectory(tempDir, "wordle-watch").resolve("words.txt");
+        Files.write(file, List.of("слово", "шофер"), StandardCharsets.UTF_8);
+
+        try (DictionaryProvider provider = new DictionaryProvider(file, false, Logger.discarding())) {
+            provider.start();
+            Files.write(file, List.of("слово", "шофер", "савар"), StandardCharsets.UTF_8);
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() + 5_000));
+
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (provider.current().getDictionary().size() != 3 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(50);
+            }
+            assertEquals(3, provider.current().getDictionary().size());
+        }
+    }
+
+    @Test
+    void testProviderServesEveryLengthFromOneStore() throws Exception {
+        // Проверяет, что один провайдер обслуживает игры всех длин файла: длина по умолчанию готова сразу,
+        // словарь, таблица подсказок и кэш другой длины строятся первой игрой на ней, а игры любой длины
+        // создаются через HTTP и восстанавливаются из журнала
+        Path file = Files.createTempDirectory(tempDir, "wordle-lengths").resolve("words.txt");
+        Files.write(file, List.of("рука", "нога", "слово", "шофер", "савар", "машина", "малина", "калина"),
+                StandardCharsets.UTF_8);
+        Logger logger = Logger.discarding();
+        Path journalDir = Files.createTempDirectory(tempDir, "journal");
+        DictionaryProvider provider = new DictionaryProvider(file, 5, true, logger);
+        DictionarySnapshot snapshot = provider.current();
+        assertArrayEquals(new int[]{4, 5, 6}, snapshot.getWordLengths());
+        assertEquals(5, snapshot.getDefaultLength());
+        assertTrue(snapshot.isClueMatrixBuilt(5));
+        assertFalse(snapshot.isClueMatrixBuilt(6));
+        String id;
+
+        try (GameJournal journal = GameJournal.open(journalDir, logger);
+             GameSessionRegistry registry = new GameSessionRegistry(provider, new FirstConsistentStrategy(), 100,
+                     logger, 10, 60_000)) {
+            registry.setJournal(journal);
+            assertNull(registry.getSuggestionCache(6));
+            GameSession six = registry.create(6);
+            id = six.getId();
+            assertEquals(3, (int) six.withGame(WordleGame::getRemainingCandidates));
+            assertEquals(6, (int) six.withGame(game -> game.getDictionary().getWordLength()));
+            six.withGame(game -> game.makeGuess(game.getAnswerIndex() == 0 ? 1 : 0));
+            assertTrue(snapshot.isClueMatrixBuilt(6));
+            assertNotNull(snapshot.getClueMatrix(6));
+            assertSame(snapshot.getDictionary(6), registry.getSuggestionCache(6).getDictionary());
+            assertEquals(5, (int) registry.create().withGame(game -> game.getDictionary().getWordLength()));
+
+            assertThrows(IllegalArgumentException.class, () -> registry.create(7)); // слов из 7 букв нет
+            assertThrows(IllegalArgumentException.class, () -> registry.create(9));
+            assertEquals(2, registry.size());
+
+            try (WordleServer server = new WordleServer(registry, 0)) {
+                server.start();
+                String base = "http://localhost:" + server.getPort() + "/games";
+                assertTrue(request("POST", base + "?length=4", null, 201).contains("\"length\":4"));
+                assertTrue(request("POST", base, null, 201).contains("\"length\":5"));
+                request("POST", base + "?length=7", null, 400);
+                request("POST", base + "?length=six", null, 400);
+            }
+        }
+
+        try (GameSessionRegistry registry = new GameSessionRegistry(provider, new FirstConsistentStrategy(), 100,
+                logger, 10, 60_000)) {
+            assertEquals(4, registry.restore(new GameJournalReader(journalDir))); // незаконченные игры длин 4, 5 и 6
+            assertEquals(6, (int) registry.get(id).withGame(game -> game.getDictionary().getWordLength()));
+        }
+
+        // Снимок одного словаря другие длины не обслуживает
+        DictionarySnapshot fixed = new DictionarySnapshot(snapshot.getDictionary(), null, 1, 0);
+        assertThrows(IllegalArgumentException.class, () -> fixed.getDictionary(6));
+        assertArrayEquals(new int[]{5}, fixed.getWordLengths());
+    }
+
+    // -------------------- Metrics --------------------
+    @Test
+    void testHistogramPercentilesWithinBucketError() {
+        // Проверяет, что процентили гистограммы отличаются от точных не больше чем на ширину корзины (~3%)
+        Histogram histogram = new Histogram("test", true);
+        for (long v = 1; v <= 100_000; v++) {
+            histogram.record(v * 1000);
+        }
+        Histogram.Snapshot snapshot = histogram.snapshot();
+
+        assertEquals(100_000, snapshot.getCount());
+        assertEquals(100_000_000, snapshot.getMax());
+        for (double p : new double[]{50, 90, 99, 99.9}) {
+            double exact = p / 100 * 100_000 * 1000;
+            assertEquals(exact, snapshot.percentile(p), exact * 0.035, "p" + p);
+        }
+        assertEquals(0, new Histogram("empty", false).snapshot().percentile(99));
+    }
+
+    @Test
+    void testMetricsRecordOnlyWhenEnabled() {
+        // Проверяет, что выключенные метрики ничего не записывают, а включённые считают ходы, подсказки
+        // и время suggest
+        Logger logger = Logger.discarding();
+        WordleDictionary dict = new WordleDictionary(List.of("слово", "шофер", "савар", "навар"), logger);
+        boolean wasEnabled = Metrics.isEnabled();
+        try {
+            Metrics.setEnabled(false);
+            Metrics.reset();
+            WordleGame game = new WordleGame(dict, logger);
+            game.makeGuess(game.suggest());
+            assertEquals(0, Metrics.snapshot().counter("game.guess.accepted"));
+
+            Metrics.setEnabled(true);
+            game = new WordleGame(dict, logger, null, new FirstConsistentStrategy(), 3);
+            game.makeGuess("слово");
+            assertThrows(WordNotFoundInDictionaryException.class, () -> new WordleGame(dict, logger).makeGuess("абвгд"));
+            game.suggestIndex();
+            ClueSource.of(dict).answers(new int[]{0, 1, 2}).clues(0, new int[3]);
+
+            Metrics.Snapshot snapshot = Metrics.snapshot();
+            assertEquals(1, snapshot.counter("game.guess.accepted"));
+            assertEquals(1, snapshot.counter("game.guess.notInDictionary"));
+            assertEquals(2, snapshot.histogram("game.guess.validation").getCount()); // отвергнутое слово тоже замерено
+            assertEquals(1, snapshot.histogram("suggest").getCount());
+            assertEquals(3, snapshot.counter("clue.computed")); // пакет из трёх подсказок, ход считался без счётчика
+            assertTrue(snapshot.format().contains("suggest: count=1"));
+        } finally {
+            Metrics.setEnabled(wasEnabled);
+            Metrics.reset();
+        }
+    }
+
+    // -------------------- MultiBoardGame --------------------
+    @Test
+    void testMultiBoardGameScoresGuessOnEveryOpenBoard() {
+        // Проверяет, что ход даёт подсказку на каждую нерешённую доску, а угаданная доска дальше не проверяется
+        Logger logger = Logger.discarding();
+        WordleDictionary dict = new WordleDictionary(
+                List.of("савар", "навар", "валах", "аббат", "слово", "шофер"), logger);
+        int savar = dict.indexOf("савар");
+        int slovo = dict.indexOf("слово");
+        MultiBoardGame game = new MultiBoardGame(dict, logger, ClueMatrix.build(dict),
+                new FirstConsistentStrategy(), new int[]{savar, slovo});
+
+        assertEquals(7, game.getMaxSteps());
+        String[] clues = game.makeGuess("савар");
+        assertEquals("+++++", clues[0]);
+        assertEquals(WordleGame.computeClue("савар", "слово"), clues[1]);
+        assertTrue(game.isSolved(0));
+        assertFalse(game.isFinished());
+
+        int[] codes = game.makeGuess(slovo);
+        assertEquals(MultiBoardGame.NO_CLUE, codes[0]);
+        assertTrue(game.isWon());
+        assertEquals(2, game.getSolvedAtMove(1));
+        assertThrows(IllegalStateException.class, () -> game.makeGuess(slovo));
+        assertThrows(IllegalArgumentException.class, () -> new MultiBoardGame(dict, logger, null,
+                new FirstConsistentStrategy(), new int[9]));
+    }
+
+    @Test
+    void testMultiBoardGameValidatesGuessesLikeSingleBoard() {
+        // Проверяет, что игра на нескольких досках отвергает слова по тем же правилам и с теми же метриками
+        Logger logger = Logger.discarding();
+        WordleDictionary dict = new WordleDictionary(List.of("савар", "навар", "слово", "шофер"), logger);
+        MultiBoardGame game = new MultiBoardGame(dict, logger, null, new FirstConsistentStrategy(), new int[]{0, 2});
+        boolean wasEnabled = Metrics.isEnabled();
+        try {
+            Metrics.setEnabled(true);
+            Metrics.reset();
+            assertThrows(InvalidWordException.class, () -> game.makeGuess("сова"));
+            assertThrows(WordNotFoundInDictionaryException.class, () -> game.makeGuess("абвгд"));
+            assertThrows(WordNotFoundInDictionaryException.class, () -> game.makeGuess(dict.size()));
+            game.makeGuess("шофер");
+
+            Metrics.Snapshot snapshot = Metrics.snapshot();
+            assertEquals(1, snapshot.counter("game.guess.invalid"));
+            assertEquals(2, snapshot.counter("game.guess.notInDictionary"));
+            assertEquals(1, snapshot.counter("game.guess.accepted"));
+            assertEquals(3, snapshot.histogram("game.guess.validation").getCount());
+            assertEquals(1, game.getGuessCount());
+        } finally {
+            Metrics.setEnabled(wasEnabled);
+            Metrics.reset();
+        }
+    }
+
+    @Test
+    void testMultiBoardSuggestSolvesAllBoards() {
+        // Проверяет, что подсказки по всем доскам сразу решают игру на 4 досках в отведённые попытки,
+        // а доска с единственным кандидатом закрывается первым же ходом
+        List<String> lines = List.of("савар", "навар", "валах", "аббат", "слово", "шофер", "колок", "около",
+                "лалка", "полол");
+        Logger logger = Logger.discarding();
+        WordleDictionary dict = new WordleDictionary(lines, logger);
+        ClueMatrix matrix = ClueMatrix.build(dict);
+        for (SuggestionStrategy strategy : List.of(new MaxInformationStrategy(1000), new MinimaxStrategy(1000))) {
+            MultiBoardGame game = new MultiBoardGame(dict, logger, matrix, strategy,
+                    new int[]{dict.indexOf("навар"), dict.indexOf("колок"), dict.indexOf("шофер"), dict.indexOf("полол")});
+            while (!game.isFinished()) {
+                game.makeGuess(game.suggestIndex());
+            }
+            assertTrue(game.isWon(), strategy.getClass().getSimpleName());
+        }
+
+        WordBitSet single = new WordBitSet(dict.size());
+        single.set(dict.indexOf("шофер"));
+        WordBitSet[] boards = {WordBitSet.full(dict.size()), single};
+        assertEquals(dict.indexOf("шофер"), new MaxInformationStrategy(1000).suggest(dict, matrix, boards));
+    }
+
+    // -------------------- PartitionedDictionary --------------------
+    @Test
+    void testLoaderPartitionsWordsByLengthLazily() throws Exception {
+        // Проверяет, что файл читается один раз для всех длин, словарь длины строится только по запросу,
+        // а скомпилированный файл у каждой длины свой
+        Logger logger = Logger.discarding();
+        Path source = Files.createTempDirectory(tempDir, "wordle").resolve("words.txt");
+        Files.write(source, List.of("кот", "рука", "слово", "Шофёр", "слово", "машина", "самолёт", "пароходы",
+                "велосипед", "рука"), StandardCharsets.UTF_8);
+
+        PartitionedDictionary words = new WordleDictionaryLoader(logger).loadAll(source.toString());
+        assertEquals(10, words.getLineCount());
+        assertEquals(2, words.rawCount(4));
+        assertFalse(words.isBuilt(4));
+        assertEquals(List.of("рука"), words.forLength(4).getWords());
+        assertTrue(words.isBuilt(4));
+        assertFalse(words.isBuilt(5));
+        assertSame(words.forLength(4), words.forLength(4));
+        assertEquals(List.of("слово", "шофер"), words.forLength(5).getWords());
+        assertEquals(List.of("самолет"), words.forLength(7).getWords());
+        assertEquals("пароходы", words.forLength(8).wordAt(0));
+        assertThrows(IllegalArgumentException.class, () -> words.forLength(9));
+
+        WordleDictionary six = new WordleDictionaryLoader(logger).load(source.toString(), 6);
+        assertEquals(List.of("машина"), six.getWords());
+        assertTrue(Files.exists(CompiledDictionary.compiledFileFor(source, 6)));
+        assertEquals(six.contentHash(), new WordleDictionaryLoader(logger).load(source.toString(), 6).contentHash());
+        assertNotEquals(six.contentHash(), words.forLength(5).contentHash());
+    }
+
+    @Test
+    void testGameAndSolverWorkWithLongWords() {
+        // Проверяет игру словами из 8 букв: упаковка в long, подсказки на лету и из таблицы с двухбайтовыми ячейками,
+        // сужение кандидатов и подсказку стратегии
+        List<String> lines = List.of("пароходы", "самолеты", "вертолет", "теплоход", "пароваря", "ааааббба");
+        Logger logger = Logger.discarding();
+        WordleDictionary dict = new WordleDictionary(lines, 8, logger);
+        assertEquals(8, dict.getWordLength());
+        assertEquals("ааааббба", PackedWord.unpack(PackedWord.pack("ааааббба"), 8));
+
+        ClueMatrix matrix = ClueMatrix.build(dict);
+        ClueSource onTheFly = ClueSource.of(dict);
+        for (int g = 0; g < dict.size(); g++) {
+            for (int a = 0; a < dict.size(); a++) {
+                int expected = WordleClue.compute(dict.wordAt(g), dict.wordAt(a));
+                assertEquals(expected, matrix.clue(g, a));
+                assertEquals(expected, onTheFly.clue(g, a));
+            }
+        }
+
+        WordleGame game = new WordleGame(dict, logger, matrix, new MaxInformationStrategy(1000),
+                dict.indexOf("теплоход"));
+        assertThrows(InvalidWordException.class, () -> game.makeGuess("слово"));
+        assertEquals(WordleGame.computeClue("вертолет", "теплоход"), game.makeGuess("вертолет"));
+        while (!game.isFinished()) {
+            game.makeGuess(game.suggest());
+        }
+        assertTrue(game.isWon());
+    }
+
+    // -------------------- GameJournal --------------------
+    @Test
+    void testGameJournalStatisticsAndUnfinishedGames() throws Exception {
+        // Проверяет статистику по законченным играм, поиск незаконченной игры, пропуск кадров другого словаря
+        // и то, что оборванный хвост сегмента пропускается
+        Logger logger = Logger.discarding();
+        WordleDictionary dict = new WordleDictionary(List.of("слово", "шофер", "савар", "навар"), logger);
+        WordleDictionary other = new WordleDictionary(List.of("слово", "шофер"), logger);
+        Path dir = Files.createTempDirectory(tempDir, "journal");
+
+        WordleGame unfinished = new WordleGame(dict, logger, null, new FirstConsistentStrategy(), 2);
+        unfinished.makeGuess("слово");
+        try (GameJournal journal = GameJournal.open(dir, logger)) {
+            for (int answer = 0; answer < dict.size(); answer++) {
+                WordleGame game = new WordleGame(dict, logger, null, new FirstConsistentStrategy(), answer);
+                while (!game.isFinished()) {
+                    game.makeGuess(game.suggestIndex());
+                    journal.append(answer, game);
+                }
+            }
+            journal.append(100, unfinished);
+            WordleGame abandoned = new WordleGame(dict, logger, null, new FirstConsistentStrategy(), 1);
+            journal.append(101, abandoned);
+            journal.appendAbandoned(101, abandoned);
+            journal.append(200, new WordleGame(other, logger, null, new FirstConsistentStrategy(), 0));
+        }
+
+        GameJournalReader reader = new GameJournalReader(dir);
+        GameJournalReader.Statistics statistics = reader.statistics(dict);
+        assertEquals(4, statistics.getGames());
+        assertEquals(4, statistics.getWins());
+        assertEquals(4, Arrays.stream(statistics.getDistribution()).sum());
+        assertEquals(1, reader.getSkippedFrames()); // игра на другом словаре — в своём кадре того же сегмента
+        assertEquals(0, reader.getSkippedSegments());
+
+        List<GameRecord> records = reader.unfinishedGames(dict);
+        assertEquals(1, records.size());
+        assertEquals(100, records.get(0).getGameId());
+        WordleGame restored = records.get(0).replay(dict, logger, null, new FirstConsistentStrategy(), null);
+        assertEquals(unfinished.getAnswerIndex(), restored.getAnswerIndex());
+        assertEquals(unfinished.getRemainingCandidates(), restored.getRemainingCandidates());
+        assertEquals(unfinished.getRemainingSteps(), restored.getRemainingSteps());
+
+        // кадр, оборванный падением процесса: длина есть, данных нет
+        Path first = GameJournal.segmentFile(dir, 1);
+        Files.write(first, new byte[]{0, 0, 0, 50, 1, 2, 3, 4, 5}, StandardOpenOption.APPEND);
+        assertEquals(4, reader.statistics(dict).getGames());
+        assertEquals(1, reader.getCorruptFrames());
+    }
+
+    @Test
+    void testGameJournalKeepsOneSegmentWhenDictionariesAlternate() throws Exception {
+        // Проверяет, что игры на двух чередующихся словарях пишутся в один сегмент своими кадрами,
+        // а старый сегмент версии 1 (хэш словаря в заголовке) по-прежнему читается
+        Logger logger = Logger.discarding();
+        WordleDictionary dict = new WordleDictionary(List.of("слово", "шофер", "савар", "навар"), logger);
+        WordleDictionary other = new WordleDictionary(List.of("слово", "шофер", "савар"), logger);
+        Path dir = Files.createTempDirectory(tempDir, "journal");
+
+        try (GameJournal journal = GameJournal.open(dir, logger)) {
+            for (int i = 0; i < 20; i++) {
+                WordleDictionary d = i % 2 == 0 ? dict : other;
+                WordleGame game = new WordleGame(d, logger, null, new FirstConsistentStrategy(), 0);
+                game.makeGuess(0);
+                journal.append(i, game);
+                journal.flush();
+            }
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            assertEquals(1, files.filter(f -> GameJournal.segmentNumber(f) >= 0).count());
+        }
+        GameJournalReader reader = new GameJournalReader(dir);
+        assertEquals(10, reader.statistics(dict).getGames());
+        assertEquals(10, reader.getSkippedFrames());
+        assertEquals(10, reader.statistics(other).getGames());
+
+        // Сегмент версии 1: одна выигранная за ход игра
+        ByteBuffer records = ByteBuffer.allocate(GameJournal.recordSize(1));
+        records.put((byte) (GameJournal.FINISHED | GameJournal.WON)).putLong(500).putInt(1).put((byte) 1)
+                .putInt(1).putShort((short) WordleClue.allCorrect(5)).flip();
+        CRC32 crc = new CRC32();
+        crc.update(records.duplicate());
+        ByteBuffer segment = ByteBuffer.allocate(GameJournal.HEADER_SIZE + GameJournal.FRAME_HEADER_SIZE_V1
+                + records.remaining());
+        segment.putInt(GameJournal.MAGIC).putInt(GameJournal.VERSION_SEGMENT_HASH).putLong(dict.contentHash())
+                .putInt(records.remaining()).putInt((int) crc.getValue()).put(records);
+        Files.write(GameJournal.segmentFile(dir, 100), segment.array());
+
+        assertEquals(11, reader.statistics(dict).getGames());
+        assertEquals(10, reader.statistics(other).getGames());
+        assertEquals(1, reader.getSkippedSegments());
+    }
+
+    @Test
+    void testGameJournalKeepsFramesWhenWriteFails() throws Exception {
+        // Проверяет, что записи, которые не удалось записать, не теряются, а уходят в файл следующим сбросом
+        Logger logger = Logger.discarding();
+        WordleDictionary dict = new WordleDictionary(List.of("слово", "шофер", "савар", "навар"), logger);
+        Path dir = Files.createTempDirectory(tempDir, "journal");
+
+        try (GameJournal journal = GameJournal.open(dir, GameJournal.HEADER_SIZE + 2 * GameJournal.MAX_FRAME_SIZE,
+                60_000, logger)) {
+            Path blocked = Files.createDirectory(GameJournal.segmentFile(dir, 1)); // первый сегмент не создать
+            WordleGame game = new WordleGame(dict, logger, null, new FirstConsistentStrategy(), 2);
+            game.makeGuess("слово");
+            journal.append(7, game);
+            assertThrows(IOException.class, journal::flush);
+
+            Files.delete(blocked);
+            journal.flush();
+        }
+
+        List<GameRecord> records = new GameJournalReader(dir).unfinishedGames(dict);
+        assertEquals(1, records.size());
+        assertEquals(7, records.get(0).getGameId());
+        assertEquals(1, records.get(0).getGuessCount());
+    }
+
+    @Test
+    void testGameJournalLocksItsDirectory() throws Exception {
+        // Проверяет, что второй журнал в том же каталоге не открывается, пока первый не закрыт
+        Logger logger = Logger.discarding();
+        Path dir = Files.createTempDirectory(tempDir, "journal");
+
+        GameJournal journal = GameJournal.open(dir, logger);
+        try {
+            JournalLockedException e = assertThrows(JournalLockedException.class, () -> GameJournal.open(dir, logger));
+            assertTrue(e.getMessage().contains(dir.toAbsolutePath().toString()));
+        } finally {
+            journal.close();
+        }
+        GameJournal.open(dir, logger).close();
+    }
+
+    @Test
+    void testRegistryRestoresUnfinishedGamesFromJournal() throws Exception {
+        // Проверяет, что после "падения" новый реестр восстанавливает незаконченную игру с тем же id и ходами,
+        // а удалённые и законченные игры не восстанавливаются
+        Logger logger = Logger.discarding();
+        WordleDictionary dict = new WordleDictionary(List.of("слово", "шофер", "савар", "навар"), logger);
+        Path dir = Files.createTempDirectory(tempDir, "journal");
+        String id;
+        int candidates;
+
+        try (GameJournal journal = GameJournal.open(dir, logger);
+             GameSessionRegistry registry = new GameSessionRegistry(dict, null, new FirstConsistentStrategy(),
+                     logger, 10, 60_000)) {
+            registry.setJournal(journal);
+            GameSession session = registry.create();
+            id = session.getId();
+            candidates = session.withGame(game -> {
+                game.makeGuess(game.getAnswerIndex() == 0 ? 1 : 0);
+                return game.getRemainingCandidates();
+            });
+
+            GameSession removed = registry.create();
+            registry.remove(removed.getId());
+
+            GameSession finished = registry.create();
+            finished.withGame(game -> game.makeGuess(game.getAnswerIndex()));
+        }
+
+        try (GameSessionRegistry registry = new GameSessionRegistry(dict, null, new FirstConsistentStrategy(),
+                logger, 10, 60_000)) {
+            assertEquals(1, registry.restore(new GameJournalReader(dir)));
+            GameSession session = registry.get(id);
+            assertEquals(1, (int) session.withGame(WordleGame::getGuessCount));
+            assertEquals(candidates, (int) session.withGame(WordleGame::getRemainingCandidates));
+        }
+    }
+
+    // -------------------- GameSessionRegistry / WordleServer --------------------
+    @Test
+    void testSessionRegistryLimitAndEviction() throws Exception {
+        // Проверяет, что число сессий ограничено, а простаивающие сессии удаляются и освобождают место
+        List<String> raw = List.of("слово", "шофер", "савар", "навар");
+        Logger logger = Logger.discarding();
+        WordleDictionary dict = new WordleDictionary(raw, logger);
+
+        try (GameSessionRegistry registry = new GameSessionRegistry(dict, null, new FirstConsistentStrategy(),
+                logger, 2, 50)) {
+            GameSession first = registry.create();
+            registry.create();
+            assertEquals(2, registry.size());
+            assertSame(first, registry.get(first.getId()));
+
+            Thread.sleep(120);
+            GameSession third = registry.create(); // место освобождается удалением простаивающих
+            assertTrue(registry.size() <= 2);
+            assertThrows(SessionNotFoundException.class, () -> registry.get(first.getId()));
+
+            assertTrue(registry.remove(third.getId()));
+            assertFalse(registry.remove(third.getId()));
+
+            // после start() простаивающие сессии удаляет фоновая задача, не дожидаясь нехватки мест
+            registry.create();
+            registry.start();
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (registry.size() > 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(20);
+            }
+            assertEquals(0, registry.size());
+        }
+
+        try (GameSessionRegistry registry = new GameSessionRegistry(dict, null, new FirstConsistentStrategy(),
+                logger, 1, 60_000)) {
+            registry.create();
+            assertThrows(SessionLimitException.class, registry::create);
+        }
+    }
+
+    @Test
+    void testServerPlaysGameOverHttp() throws Exception {
+        // Проверяет полный круг через HTTP: создание игры, подсказка, ход, ошибка на неизвестное слово, удаление
+        List<String> raw = List.of("слово", "шофер", "савар", "навар");
+        Logger logger = Logger.discarding();
+        WordleDictionary dict = new WordleDictionary(raw, logger);
+        GameSessionRegistry registry = new GameSessionRegistry(dict, null, new FirstConsistentStrategy(),
+                logger, 10, 60_000);
+
+        try (WordleServer server = new WordleServer(registry, 0)) {
+            server.start();
+            String base = "http://localhost:" + server.getPort() + "/games";
+
+            String created = request("POST", base, null, 201);
+            String id = created.replaceAll(".*\"id\":\"([^\"]+)\".*", "$1");
+            assertTrue(created.contains("\"finished\":false"));
+
+            String hint = request("GET", base + "/" + id + "/hint", null, 200);
+            assertTrue(hint.contains("\"hint\":\"слово\""));
+
+            String guess = request("POST", base + "/" + id + "/guess", "{\"word\":\"слово\"}", 200);
+            assertTrue(guess.contains("\"clue\":"));
+            request("POST", base + "/" + id + "/guess", "{\"word\":\"абвгд\"}", 400);
+
+            request("DELETE", base + "/" + id, null, 200);
+            request("GET", base + "/" + id, null, 404);
+        }
+    }
+
+    private static String request(String method, String url, String body, int expectedStatus) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) URI.create(url).toURL().openConnection();
+        connection.setRequestMethod(method);
+        if (body != null) {
+            connection.setDoOutput(true);
+            connection.getOutputStream().write(body.getBytes(StandardCharsets.UTF_8));
+        }
+        assertEquals(expectedStatus, connection.getResponseCode());
+
+        InputStream in = expectedStatus >= 400 ? connection.getErrorStream() : connection.getInputStream();
+        return in == null ? "" : new String(in.readAllBytes(), StandardCharsets.UTF_8);
+    }
+
+}
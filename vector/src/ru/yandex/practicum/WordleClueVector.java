@@ -0,0 +1,92 @@
+package ru.yandex.practicum;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/*
+Векторное ядро пакетного подсчёта подсказок на Vector API (jdk.incubator.vector).
+Каждый метод — тот же проход, что одноимённый в WordleClue, с теми же масками (-1 — да, 0 — нет),
+только ширина вектора задаётся явно и не зависит от того, распознает ли JIT цикл.
+Слова, не вошедшие в целый вектор, досчитывает скалярный проход: загрузка под маской диапазона
+(indexInRange) замедляет весь цикл в десятки раз.
+Класс лежит в отдельном модуле vector (компилируется с --add-modules jdk.incubator.vector, см. .idea/compiler.xml),
+основной модуль его не видит и загружает по имени (WordleClue.vectorKernel).
+*/
+final class WordleClueVector implements ClueKernel {
+
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+    private static final IntVector ZERO = IntVector.zero(SPECIES);
+
+    // Создаётся через WordleClue.vectorKernel; на процессоре с векторами короче 4 int ядро не нужно
+    WordleClueVector() {
+        if (SPECIES.length() < 4) {
+            throw new UnsupportedOperationException("Векторы из " + SPECIES.length() + " int");
+        }
+    }
+
+    @Override
+    public void markCorrect(int[] column, int letter, int add, int[] out, int n) {
+        int bound = SPECIES.loopBound(n);
+        for (int a = 0; a < bound; a += SPECIES.length()) {
+            IntVector v = IntVector.fromArray(SPECIES, out, a);
+            IntVector equal = equalMask(IntVector.fromArray(SPECIES, column, a), letter);
+            v.add(equal.and(add)).intoArray(out, a);
+        }
+        WordleClue.markCorrect(column, letter, add, out, bound, n);
+    }
+
+    @Override
+    public void markSingleLetter(int[] masks, int letter, int shift, int add, int[] out, int n) {
+        int bound = SPECIES.loopBound(n);
+        for (int a = 0; a < bound; a += SPECIES.length()) {
+            IntVector v = IntVector.fromArray(SPECIES, out, a);
+            IntVector present = ZERO.blend(-1, IntVector.fromArray(SPECIES, masks, a).and(1 << letter)
+                    .compare(VectorOperators.NE, 0));
+            v.add(notGreen(v, shift).and(present).and(add)).intoArray(out, a);
+        }
+        WordleClue.markSingleLetter(masks, letter, shift, add, out, bound, n);
+    }
+
+    @Override
+    public void countAvailable(int[] column, int letter, int shift, int[] out, int n) {
+        int bound = SPECIES.loopBound(n);
+        for (int a = 0; a < bound; a += SPECIES.length()) {
+            IntVector v = IntVector.fromArray(SPECIES, out, a);
+            IntVector notGreen = notGreen(v, shift);
+            IntVector equal = equalMask(IntVector.fromArray(SPECIES, column, a), letter);
+            v.add(equal.and(notGreen).and(WordleClue.AVAILABLE_ONE)).intoArray(out, a);
+        }
+        WordleClue.countAvailable(column, letter, shift, out, bound, n);
+    }
+
+    @Override
+    public void takeAvailable(int shift, int add, int[] out, int n) {
+        int bound = SPECIES.loopBound(n);
+        for (int a = 0; a < bound; a += SPECIES.length()) {
+            IntVector v = IntVector.fromArray(SPECIES, out, a);
+            IntVector available = ZERO.blend(-1, v.and(WordleClue.AVAILABLE_MASK).compare(VectorOperators.NE, 0));
+            v.add(notGreen(v, shift).and(available).and(add)).intoArray(out, a);
+        }
+        WordleClue.takeAvailable(shift, add, out, bound, n);
+    }
+
+    @Override
+    public void keepBits(int[] out, int mask, int n) {
+        int bound = SPECIES.loopBound(n);
+        for (int a = 0; a < bound; a += SPECIES.length()) {
+            IntVector.fromArray(SPECIES, out, a).and(mask).intoArray(out, a);
+        }
+        WordleClue.keepBits(out, mask, bound, n);
+    }
+
+    // -1 в дорожках, где код буквы равен letter, иначе 0 (как WordleClue.equalMask)
+    private static IntVector equalMask(IntVector letters, int letter) {
+        return ZERO.blend(-1, letters.eq(letter));
+    }
+
+    // -1 в дорожках, где позиция (бит shift) не совпала, иначе 0
+    private static IntVector notGreen(IntVector v, int shift) {
+        return ZERO.blend(-1, v.and(1 << shift).eq(0));
+    }
+}